@@ -0,0 +1,7 @@
+#!/bin/bash
+# Dijalankan sekali oleh image postgres saat inisialisasi primary: role replikasi + izin pg_hba.
+set -e
+psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "$POSTGRES_DB" <<SQL
+create role replicator with replication login password '${REPLICATION_PASSWORD}';
+SQL
+echo "host replication replicator all scram-sha-256" >> "$PGDATA/pg_hba.conf"
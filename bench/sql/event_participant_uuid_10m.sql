@@ -0,0 +1,93 @@
+-- Benchmark insert event_participant 10 juta baris: primary key UUID v4 acak (lama) vs UUID v7 (common.UuidV7).
+-- Mengukur waktu insert (\timing), WAL yang ditulis, dan ukuran tiap index untuk kedua varian.
+--
+-- Jalankan terhadap database dev yang schema-nya sudah dibuat (initdb/002..005):
+--   psql -h 127.0.0.1 -U mastama -d desa_digital -f bench/sql/event_participant_uuid_10m.sql
+--
+-- Data dibuat di schema terpisah "bench" sehingga tabel aplikasi tidak tersentuh.
+-- Index dibuat sebelum insert dan data dikirim per batch 100 ribu baris (commit per batch),
+-- sehingga page split B-tree dan full-page write ikut terukur seperti di produksi.
+\set ON_ERROR_STOP on
+\timing on
+
+DROP SCHEMA IF EXISTS bench CASCADE;
+CREATE SCHEMA bench;
+
+-- UUID v7 dengan layout yang sama seperti common.UuidV7: 48 bit unix millis, versi 7 + counter 12 bit,
+-- lalu variant + 62 bit acak (diambil dari gen_random_uuid()). PostgreSQL 18 punya uuidv7() bawaan.
+CREATE FUNCTION bench.uuid_v7(ms bigint, seq int) RETURNS uuid
+LANGUAGE sql VOLATILE AS $$
+    SELECT encode(
+        substring(int8send(ms) FROM 3)
+            || int2send((28672 | (seq & 4095))::smallint)
+            || substring(uuid_send(gen_random_uuid()) FROM 9),
+        'hex')::uuid
+$$;
+
+-- 1000 event, peserta dibagi rata (seperti banyak event berjalan bersamaan)
+CREATE TABLE bench.event_ids AS SELECT gen_random_uuid() AS id, n FROM generate_series(0, 999) AS s(n);
+CREATE UNIQUE INDEX ON bench.event_ids (n);
+
+CREATE TABLE bench.participant_v4 (LIKE public.event_participant INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING INDEXES);
+CREATE TABLE bench.participant_v7 (LIKE public.event_participant INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING INDEXES);
+CHECKPOINT;
+
+-- 1) UUID v4 acak
+SELECT pg_current_wal_lsn() AS wal_start \gset
+DO $$
+DECLARE
+    b int;
+BEGIN
+    FOR b IN 0..99 LOOP
+        INSERT INTO bench.participant_v4 (id, event_id, warga_nik)
+        SELECT gen_random_uuid(), e.id, lpad(i::text, 16, '0')
+        FROM generate_series(b * 100000, b * 100000 + 99999) AS s(i)
+        JOIN bench.event_ids e ON e.n = i % 1000;
+        COMMIT;
+    END LOOP;
+END $$;
+SELECT pg_size_pretty(pg_wal_lsn_diff(pg_current_wal_lsn(), :'wal_start')) AS wal_v4;
+CHECKPOINT;
+
+-- 2) UUID v7: 10 insert per milidetik, waktu maju sesuai urutan insert
+SELECT pg_current_wal_lsn() AS wal_start \gset
+DO $$
+DECLARE
+    b int;
+    base_ms bigint := (extract(epoch FROM clock_timestamp()) * 1000)::bigint;
+BEGIN
+    FOR b IN 0..99 LOOP
+        INSERT INTO bench.participant_v7 (id, event_id, warga_nik)
+        SELECT bench.uuid_v7(base_ms + i / 10, (i % 10)::int), e.id, lpad(i::text, 16, '0')
+        FROM generate_series(b * 100000, b * 100000 + 99999) AS s(i)
+        JOIN bench.event_ids e ON e.n = i % 1000;
+        COMMIT;
+    END LOOP;
+END $$;
+SELECT pg_size_pretty(pg_wal_lsn_diff(pg_current_wal_lsn(), :'wal_start')) AS wal_v7;
+
+-- Ukuran tabel dan index per varian (pkey paling terdampak; uq_event_warga sama untuk keduanya)
+SELECT c.relname,
+       pg_size_pretty(pg_relation_size(c.oid)) AS size
+FROM pg_class c
+JOIN pg_namespace ns ON ns.oid = c.relnamespace
+WHERE ns.nspname = 'bench' AND c.relname LIKE 'participant_v%'
+ORDER BY c.relname;
+
+-- Kepadatan leaf page primary key (butuh extension pgstattuple; dilewati jika tidak tersedia)
+SELECT EXISTS (SELECT 1 FROM pg_available_extensions WHERE name = 'pgstattuple') AS has_pgstattuple \gset
+\if :has_pgstattuple
+CREATE EXTENSION IF NOT EXISTS pgstattuple;
+SELECT 'participant_v4_pkey' AS index, avg_leaf_density, leaf_fragmentation FROM pgstatindex('bench.participant_v4_pkey')
+UNION ALL
+SELECT 'participant_v7_pkey', avg_leaf_density, leaf_fragmentation FROM pgstatindex('bench.participant_v7_pkey');
+\endif
+
+-- Seek peserta per event (GET /events/{id}/participants) pada kedua varian
+SELECT id AS sample_event FROM bench.event_ids WHERE n = 42 \gset
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, warga_nik FROM bench.participant_v4 WHERE event_id = :'sample_event' ORDER BY id LIMIT 50;
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, warga_nik FROM bench.participant_v7 WHERE event_id = :'sample_event' ORDER BY id LIMIT 50;
+
+-- Bersihkan: DROP SCHEMA bench CASCADE;
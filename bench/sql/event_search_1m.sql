@@ -0,0 +1,84 @@
+-- Benchmark pencarian event pada 1 juta baris: LOWER LIKE '%q%' lama vs full-text (idx_event_search)
+-- vs prefix judul untuk query pendek.
+--
+-- Jalankan terhadap database dev yang schema-nya sudah dibuat (initdb/002..004):
+--   psql -h 127.0.0.1 -U mastama -d desa_digital -f bench/sql/event_search_1m.sql
+--
+-- Data dibuat di schema terpisah "bench" sehingga tabel aplikasi tidak tersentuh.
+\set ON_ERROR_STOP on
+\timing on
+
+DROP SCHEMA IF EXISTS bench CASCADE;
+CREATE SCHEMA bench;
+CREATE TABLE bench.event (LIKE public.event INCLUDING DEFAULTS INCLUDING CONSTRAINTS);
+
+INSERT INTO bench.event (id, title, start_time, end_time, location, quota, description)
+SELECT gen_random_uuid(),
+       (ARRAY['Posyandu', 'Kerja bakti', 'Musyawarah', 'Senam pagi', 'Pengajian',
+              'Pelatihan UMKM', 'Vaksinasi', 'Lomba 17an'])[1 + i % 8]
+           || ' ' || (ARRAY['RT', 'RW', 'Dusun', 'Desa'])[1 + i % 4] || ' ' || (i % 500),
+       timestamp '2024-01-01' + (i % 100000) * interval '5 minutes',
+       timestamp '2024-01-01' + (i % 100000) * interval '5 minutes' + interval '2 hours',
+       'Balai ' || (ARRAY['Sukamaju', 'Sukasari', 'Mekarjaya', 'Cibodas', 'Karangsari'])[1 + i % 5],
+       50 + i % 200,
+       repeat('Kegiatan warga untuk meningkatkan kesejahteraan bersama. ', 1 + i % 6) || md5(i::text)
+FROM generate_series(1, 1000000) AS s(i);
+
+ALTER TABLE bench.event ADD PRIMARY KEY (id);
+CREATE INDEX ON bench.event (start_time);
+CREATE INDEX ON bench.event (lower(title));
+CREATE INDEX ON bench.event (lower(title) text_pattern_ops);
+CREATE INDEX bench_event_search ON bench.event USING GIN ((
+    setweight(to_tsvector('simple', coalesce(title, '')), 'A')
+    || setweight(to_tsvector('simple', coalesce(location, '')), 'B')
+    || setweight(to_tsvector('simple', coalesce(description, '')), 'C')
+));
+VACUUM ANALYZE bench.event;
+
+SELECT pg_size_pretty(pg_relation_size('bench.event'))        AS table_size,
+       pg_size_pretty(pg_relation_size('bench.bench_event_search')) AS search_index_size;
+
+-- 1) Lama: LOWER LIKE '%q%' pada title/location/description (seq scan seluruh tabel)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, title FROM bench.event
+WHERE lower(title) LIKE '%c4ca4238%' OR lower(location) LIKE '%c4ca4238%' OR lower(description) LIKE '%c4ca4238%'
+ORDER BY start_time LIMIT 10;
+
+-- 2) Baru, term jarang (md5 prefix): GIN bitmap scan + ranking
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, title FROM bench.event
+WHERE (setweight(to_tsvector('simple', coalesce(title, '')), 'A')
+    || setweight(to_tsvector('simple', coalesce(location, '')), 'B')
+    || setweight(to_tsvector('simple', coalesce(description, '')), 'C')) @@ to_tsquery('simple', 'c4ca4238:*')
+ORDER BY ts_rank(setweight(to_tsvector('simple', coalesce(title, '')), 'A')
+    || setweight(to_tsvector('simple', coalesce(location, '')), 'B')
+    || setweight(to_tsvector('simple', coalesce(description, '')), 'C'), to_tsquery('simple', 'c4ca4238:*')) DESC,
+    start_time DESC, id
+LIMIT 10;
+
+-- 3) Lama, term umum
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, title FROM bench.event
+WHERE lower(title) LIKE '%vaksinasi dusun%' OR lower(location) LIKE '%vaksinasi dusun%'
+   OR lower(description) LIKE '%vaksinasi dusun%'
+ORDER BY start_time LIMIT 10;
+
+-- 4) Baru, term umum multi-kata (banyak match, biaya dominan di ranking)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, title FROM bench.event
+WHERE (setweight(to_tsvector('simple', coalesce(title, '')), 'A')
+    || setweight(to_tsvector('simple', coalesce(location, '')), 'B')
+    || setweight(to_tsvector('simple', coalesce(description, '')), 'C')) @@ to_tsquery('simple', 'vaksinasi:* & dusun:*')
+ORDER BY ts_rank(setweight(to_tsvector('simple', coalesce(title, '')), 'A')
+    || setweight(to_tsvector('simple', coalesce(location, '')), 'B')
+    || setweight(to_tsvector('simple', coalesce(description, '')), 'C'), to_tsquery('simple', 'vaksinasi:* & dusun:*')) DESC,
+    start_time DESC, id
+LIMIT 10;
+
+-- 5) Query pendek (< 3 karakter): prefix judul lewat text_pattern_ops
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, title FROM bench.event
+WHERE lower(title) LIKE 'po%'
+ORDER BY start_time LIMIT 10;
+
+DROP SCHEMA bench CASCADE;
@@ -0,0 +1,48 @@
+#!/usr/bin/env bash
+# Bandingkan waktu start aplikasi: default (ddl-auto=update), faststart (Flyway + ddl-auto=none),
+# faststart + AOT, dan faststart + AOT + CDS. Butuh PostgreSQL lokal seperti test.
+#
+#   bench/startup/measure-startup.sh [jumlah-run]
+#
+# Angka yang dicatat adalah baris "Started EventServiceApplication in X seconds (process running for Y)".
+set -euo pipefail
+
+RUNS=${1:-5}
+ROOT=$(cd "$(dirname "$0")/../.." && pwd)
+WORK="$ROOT/target/startup"
+PORT=${SERVER_PORT:-18082}
+
+cd "$ROOT"
+./mvnw -q -DskipTests -Paot -Daot.profiles=faststart clean package
+rm -rf "$WORK" && mkdir -p "$WORK"
+cp target/event-service-*.jar "$WORK/app.jar"
+(cd "$WORK" && java -Djarmode=tools -jar app.jar extract --destination extracted)
+JAR="$WORK/extracted/app.jar"
+
+# Training run untuk arsip CDS: context di-refresh lalu JVM keluar, tanpa menyentuh database.
+# Tanpa AOT: bean definition AOT membekukan Flyway (faststart) sehingga --spring.flyway.enabled=false diabaikan
+java -XX:ArchiveClassesAtExit="$WORK/app.jsa" -Dspring.context.exit=onRefresh \
+     -jar "$JAR" --spring.profiles.active=faststart --spring.flyway.enabled=false --server.port="$PORT" \
+     > "$WORK/training.log" 2>&1 || true
+test -f "$WORK/app.jsa" || { echo "CDS archive gagal dibuat, lihat $WORK/training.log" >&2; exit 1; }
+
+measure() {
+  local label=$1; shift
+  for i in $(seq 1 "$RUNS"); do
+    local log="$WORK/$label-$i.log"
+    java "$@" > "$log" 2>&1 &
+    local pid=$!
+    until grep -q "Started EventServiceApplication" "$log" || ! kill -0 "$pid" 2>/dev/null; do sleep 0.1; done
+    local line
+    line=$(grep -o "Started EventServiceApplication in [0-9.]* seconds (process running for [0-9.]*)" "$log" || echo "FAILED (lihat $log)")
+    kill "$pid" 2>/dev/null || true
+    wait "$pid" 2>/dev/null || true
+    printf '%-20s run %d: %s\n' "$label" "$i" "$line"
+  done
+}
+
+measure default            -jar "$JAR" --server.port="$PORT"
+measure faststart          -jar "$JAR" --server.port="$PORT" --spring.profiles.active=faststart
+measure faststart-aot      -Dspring.aot.enabled=true -jar "$JAR" --server.port="$PORT" --spring.profiles.active=faststart
+measure faststart-aot-cds  -XX:SharedArchiveFile="$WORK/app.jsa" -Dspring.aot.enabled=true \
+                           -jar "$JAR" --server.port="$PORT" --spring.profiles.active=faststart
@@ -0,0 +1,89 @@
+package com.yolifay.eventservice.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yolifay.eventservice.dto.EventResponse;
+import com.yolifay.eventservice.dto.pagination.BasePaging;
+import com.yolifay.eventservice.dto.pagination.PageEnvelope;
+import com.yolifay.eventservice.dto.pagination.SortMeta;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Ukuran payload dan biaya serialize/deserialize PageEnvelope&lt;EventResponse&gt; dalam envelope ResponseApiService
+ * untuk JSON, CBOR dan Smile. Ukuran (mentah dan gzip) dicetak sekali saat setup.
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="PayloadEncodingBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayloadEncodingBenchmark {
+
+    private static final String SERVICE_ID = "00002";
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"200"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ResponseApiService<PageEnvelope<EventResponse>> pageResponse;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile();
+            default -> Jackson2ObjectMapperBuilder.json();
+        };
+        objectMapper = builder.build();
+
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 8, 0);
+        List<EventResponse> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(new EventResponse(UUID.randomUUID().toString(), "Posyandu balita RW " + (i % 12),
+                    start.plusDays(i), start.plusDays(i).plusHours(2), "Balai desa " + (i % 5), 100,
+                    "Pemeriksaan rutin tumbuh kembang balita dan imunisasi dasar lengkap"));
+        }
+        BasePaging paging = new BasePaging(1, pageSize, "startTime", "asc", null);
+        pageResponse = ResponseApiUtil.setResponse(200, SERVICE_ID, Constants.RESPONSE.APPROVED,
+                PageEnvelope.of(paging, 10_000, content, new SortMeta("startTime", "asc")));
+
+        encoded = objectMapper.writeValueAsBytes(pageResponse);
+        System.out.printf("%n%s: %d bytes, %d bytes gzip%n", format, encoded.length, gzip(encoded).length);
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(pageResponse);
+    }
+
+    @Benchmark
+    public JsonNode deserialize() throws IOException {
+        return objectMapper.readTree(encoded);
+    }
+}
@@ -0,0 +1,82 @@
+package com.yolifay.eventservice.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yolifay.eventservice.dto.EventResponse;
+import com.yolifay.eventservice.dto.pagination.BasePaging;
+import com.yolifay.eventservice.dto.pagination.PageEnvelope;
+import com.yolifay.eventservice.dto.pagination.SortMeta;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Biaya CPU dan alokasi per response: kode response, envelope, PageEnvelope dan serialisasi Jackson.
+ * Jalankan dengan profiler GC (default jmh.args) untuk melihat gc.alloc.rate.norm per operasi.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseEnvelopeBenchmark {
+
+    private static final String SERVICE_ID = "00002";
+
+    @Param({"20"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private BasePaging paging;
+    private List<EventResponse> content;
+    private SortMeta sortMeta;
+    private ResponseApiService<PageEnvelope<EventResponse>> pageResponse;
+
+    @Setup
+    public void setUp() {
+        // Sama dengan ObjectMapper Spring Boot: JavaTimeModule, tanggal sebagai ISO string
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        paging = new BasePaging(3, pageSize, "startTime", "asc", null);
+        sortMeta = new SortMeta("startTime", "asc");
+
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 8, 0);
+        content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(new EventResponse(UUID.randomUUID().toString(), "Posyandu balita " + i,
+                    start.plusDays(i), start.plusDays(i).plusHours(2), "Balai desa", 100, "Pemeriksaan rutin"));
+        }
+        pageResponse = ResponseApiUtil.setResponse(200, SERVICE_ID, Constants.RESPONSE.APPROVED,
+                PageEnvelope.of(paging, 1000, content, sortMeta));
+    }
+
+    @Benchmark
+    public String formatCode() {
+        return ResponseApiUtil.formatCode(200, SERVICE_ID, Constants.RESPONSE.APPROVED.getCode());
+    }
+
+    @Benchmark
+    public ResponseApiService<List<EventResponse>> setResponse() {
+        return ResponseApiUtil.setResponse(200, SERVICE_ID, Constants.RESPONSE.APPROVED, content);
+    }
+
+    @Benchmark
+    public PageEnvelope<EventResponse> pageEnvelope() {
+        return PageEnvelope.of(paging, 1000, content, sortMeta);
+    }
+
+    @Benchmark
+    public byte[] serializePageResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(pageResponse);
+    }
+
+    @Benchmark
+    public byte[] buildAndSerializePageResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(ResponseApiUtil.setResponse(200, SERVICE_ID, Constants.RESPONSE.APPROVED,
+                PageEnvelope.of(paging, 1000, content, sortMeta)));
+    }
+}
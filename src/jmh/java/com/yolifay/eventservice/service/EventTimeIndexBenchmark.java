@@ -0,0 +1,85 @@
+package com.yolifay.eventservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query window pada EventTimeIndex dengan 1 juta event tersebar dalam 5 tahun, sebagian kecil berlangsung berhari-hari.
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="EventTimeIndexBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class EventTimeIndexBenchmark {
+
+    private static final long BASE = LocalDateTime.of(2025, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+    private static final long SPAN = 5L * 365 * 24 * 3600;
+
+    @Param({"1000000"})
+    private int events;
+
+    @Param({"0", "1000"})
+    private int overlay;   // event yang diubah setelah snapshot (belum di-compact)
+
+    private EventTimeIndex index;
+    private SplittableRandom rnd;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        rnd = new SplittableRandom(42);
+        EventIntervals.Builder builder = new EventIntervals.Builder(events);
+        for (int i = 0; i < events; i++) {
+            long start = BASE + rnd.nextLong(SPAN);
+            builder.add(new UUID(rnd.nextLong(), rnd.nextLong()), micros(start), micros(start + duration()));
+        }
+        index = new EventTimeIndex(null, null, true, Integer.MAX_VALUE, new SimpleMeterRegistry());
+        index.replace(builder.build());
+        for (int i = 0; i < overlay; i++) {
+            long start = BASE + rnd.nextLong(SPAN);
+            index.put(new UUID(rnd.nextLong(), rnd.nextLong()), micros(start), micros(start + duration()));
+        }
+    }
+
+    private long duration() {
+        return rnd.nextInt(50) == 0 ? rnd.nextLong(24 * 3600, 14L * 24 * 3600) : rnd.nextLong(1800, 6 * 3600);
+    }
+
+    // Index menyimpan mikrodetik epoch; data benchmark dibangkitkan dalam detik
+    private static long micros(long epochSecond) {
+        return epochSecond * 1_000_000L;
+    }
+
+    private LocalDateTime randomTime() {
+        return LocalDateTime.ofEpochSecond(BASE + rnd.nextLong(SPAN), 0, ZoneOffset.UTC);
+    }
+
+    @Benchmark
+    public List<UUID> overlappingOneHour() {
+        LocalDateTime from = randomTime();
+        return index.overlapping(from, from.plusHours(1), 200);
+    }
+
+    @Benchmark
+    public List<UUID> overlappingOneDay() {
+        LocalDateTime from = randomTime();
+        return index.overlapping(from, from.plusDays(1), 200);
+    }
+
+    @Benchmark
+    public List<UUID> startingWithinOneWeek() {
+        LocalDateTime from = randomTime();
+        return index.startingBetween(from, from.plusWeeks(1), 200);
+    }
+}
@@ -0,0 +1,58 @@
+package com.yolifay.eventservice.service;
+
+import com.yolifay.eventservice.dto.EventResponse;
+import com.yolifay.eventservice.dto.ParticipantResponse;
+import com.yolifay.eventservice.entity.Event;
+import com.yolifay.eventservice.entity.EventParticipant;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Biaya mapping entity ke DTO response di EventService.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseMappingBenchmark {
+
+    private Event event;
+    private EventParticipant participant;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 8, 0);
+        event = Event.builder()
+                .id(UUID.randomUUID())
+                .title("Posyandu balita")
+                .startTime(start)
+                .endTime(start.plusHours(2))
+                .location("Balai desa")
+                .quota(100)
+                .description("Pemeriksaan rutin")
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .build();
+        participant = EventParticipant.builder()
+                .id(UUID.randomUUID())
+                .event(event)
+                .wargaNik("3201000000000001")
+                .build();
+    }
+
+    @Benchmark
+    public EventResponse mapEventResponse() {
+        return EventService.mapEventResponse(event);
+    }
+
+    @Benchmark
+    public ParticipantResponse mapParticipantResponse() {
+        return EventService.mapParticipantResponse(participant);
+    }
+}
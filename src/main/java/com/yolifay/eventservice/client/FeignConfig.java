@@ -1,7 +1,10 @@
 package com.yolifay.eventservice.client;
 
+import com.yolifay.eventservice.common.CorrelationIdFilter;
 import com.yolifay.eventservice.exception.ConflictException;
 import com.yolifay.eventservice.exception.DataNotFoundException;
+import feign.RequestInterceptor;
+import org.slf4j.MDC;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -16,6 +19,15 @@ public class FeignConfig {
             default -> new IllegalStateException("Upstream error: " + response.status());
         };
     }
-}
-
 
+    /**
+     * Teruskan X-Request-ID request masuk ke identity-service
+     */
+    @Bean
+    public RequestInterceptor requestIdInterceptor() {
+        return template -> {
+            String requestId = MDC.get(CorrelationIdFilter.REQUEST_ID);
+            if (requestId != null) template.header(CorrelationIdFilter.REQUEST_ID, requestId);
+        };
+    }
+}
@@ -1,19 +1,162 @@
 package com.yolifay.eventservice.client;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.yolifay.eventservice.exception.ConflictException;
 import com.yolifay.eventservice.exception.DataNotFoundException;
-import lombok.RequiredArgsConstructor;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class IdentityClientFacade {
     private final IdentityFeignClient identityClient;
+    private final ExecutorService lookupExecutor;
+    private final AsyncCache<String, Boolean> nikCache;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final boolean fallbackEnabled;
+    private final Cache<String, Boolean> lastKnownVerdicts;
+    private final MeterRegistry meterRegistry;
+    private final Counter fallbackUsed;
+
+    public IdentityClientFacade(IdentityFeignClient identityClient, IdentityClientProperties props,
+                                @Qualifier("identityLookupExecutor") ExecutorService lookupExecutor,
+                                CircuitBreaker identityCircuitBreaker, Bulkhead identityBulkhead,
+                                MeterRegistry meterRegistry) {
+        this.identityClient = identityClient;
+        this.lookupExecutor = lookupExecutor;
+        this.circuitBreaker = identityCircuitBreaker;
+        this.bulkhead = identityBulkhead;
+        this.fallbackEnabled = props.isFallbackEnabled();
+        this.meterRegistry = meterRegistry;
+        this.fallbackUsed = Counter.builder("identity.fallback.used")
+                .description("Verdict NIK yang dijawab dari fallback karena identity-service tidak tersedia")
+                .register(meterRegistry);
+        this.nikCache = Caffeine.newBuilder()
+                .maximumSize(props.getNikCacheMaximumSize())
+                .expireAfter(new VerdictExpiry(
+                        TimeUnit.MILLISECONDS.toNanos(props.getNikCachePositiveTtlMs()),
+                        TimeUnit.MILLISECONDS.toNanos(props.getNikCacheNegativeTtlMs())))
+                .recordStats()
+                .buildAsync();
+        // Verdict terakhir per NIK, hidup jauh lebih lama dari nikCache; hanya dibaca saat upstream tidak tersedia
+        this.lastKnownVerdicts = Caffeine.newBuilder()
+                .maximumSize(fallbackEnabled ? props.getFallbackMaximumSize() : 0)
+                .expireAfterWrite(props.getFallbackTtlMs(), TimeUnit.MILLISECONDS)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, nikCache.synchronous(), "identity.nik");
+    }
 
+    /**
+     * Cek NIK lewat cache. Lookup bersamaan untuk NIK yang sama digabung jadi satu panggilan
+     * ke identity-service; error upstream tidak di-cache. Panggilan upstream berjalan di thread pemanggil.
+     */
     public boolean existsWargaByNik(String nik) {
-        log.info("client exists warga by Nik: {}", nik);
+        return await(nik, lookup(nik, Runnable::run));
+    }
+
+    /**
+     * Cek banyak NIK sekaligus. NIK yang belum ada di cache diteruskan ke identity-service secara paralel
+     * lewat identityLookupExecutor (identity-service belum punya endpoint bulk).
+     */
+    public Map<String, Boolean> existsWargaByNiks(Collection<String> niks) {
+        Map<String, CompletableFuture<Boolean>> pending = new LinkedHashMap<>();
+        for (String nik : niks) {
+            pending.put(nik, lookup(nik, lookupExecutor));
+        }
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        pending.forEach((nik, future) -> result.put(nik, await(nik, future)));
+        return result;
+    }
+
+    /**
+     * Statistik hit/miss/eviction cache NIK
+     */
+    public CacheStats nikCacheStats() {
+        return nikCache.synchronous().stats();
+    }
+
+    // Loader tidak dijalankan di dalam compute() cache: memanggil upstream sambil memegang lock
+    // bin ConcurrentHashMap akan mem-pin carrier thread saat berjalan di virtual thread.
+    private CompletableFuture<Boolean> lookup(String nik, Executor executor) {
+        CompletableFuture<Boolean> created = new CompletableFuture<>();
+        CompletableFuture<Boolean> cached = nikCache.get(nik, (key, cacheExecutor) -> created);
+        if (cached == created) {
+            Map<String, String> mdc = MDC.getCopyOfContextMap();   // X-Request-ID ikut ke thread lookup
+            executor.execute(() -> {
+                Map<String, String> previous = MDC.getCopyOfContextMap();
+                if (mdc != null) MDC.setContextMap(mdc);
+                try {
+                    created.complete(callIdentity(nik));
+                } catch (Throwable e) {
+                    created.completeExceptionally(e);   // entry gagal otomatis dibuang dari cache
+                } finally {
+                    if (previous != null) MDC.setContextMap(previous); else MDC.clear();
+                }
+            });
+        }
+        return cached;
+    }
+
+    private boolean await(String nik, CompletableFuture<Boolean> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) return fallback(nik, re);
+            throw new IllegalStateException("Gagal terhubung ke identity-service", e.getCause());
+        }
+    }
+
+    // Upstream tidak tersedia (error, timeout, breaker terbuka, bulkhead penuh): pakai verdict terakhir jika ada
+    private boolean fallback(String nik, RuntimeException e) {
+        if (fallbackEnabled && e instanceof IllegalStateException) {
+            Boolean lastKnown = lastKnownVerdicts.getIfPresent(nik);
+            if (lastKnown != null) {
+                log.warn("identity-service tidak tersedia, pakai verdict terakhir untuk NIK {}: {}", nik, lastKnown);
+                fallbackUsed.increment();
+                return lastKnown;
+            }
+        }
+        throw e;
+    }
+
+    // Circuit breaker di luar bulkhead: saat breaker terbuka panggilan langsung ditolak tanpa menunggu slot
+    private boolean callIdentity(String nik) {
+        try {
+            boolean exists = circuitBreaker.executeSupplier(() -> bulkhead.executeSupplier(() -> fetchWargaExists(nik)));
+            if (fallbackEnabled) lastKnownVerdicts.put(nik, exists);
+            return exists;
+        } catch (CallNotPermittedException e) {
+            log.warn("Circuit breaker identity-service terbuka, NIK {} tidak dicek", nik);
+            upstreamFailure("circuit_open");
+            throw new IllegalStateException("Circuit breaker identity-service terbuka", e);
+        } catch (BulkheadFullException e) {
+            log.warn("Bulkhead identity-service penuh, NIK {} tidak dicek", nik);
+            upstreamFailure("bulkhead_full");
+            throw new IllegalStateException("Bulkhead identity-service penuh", e);
+        }
+    }
+
+    private boolean fetchWargaExists(String nik) {
+        log.debug("client exists warga by Nik: {}", nik);
         try {
             var env = identityClient.getWargaByNik(nik);
             return env != null && env.data()!= null;
@@ -25,7 +168,31 @@ public class IdentityClientFacade {
             throw e;
         } catch (Exception e) {
             log.error("Upstream Gagal terhubung ke identity-service saat memeriksa NIK {}: {}", nik, e.getMessage());
+            upstreamFailure("error");
             throw new IllegalStateException("Gagal terhubung ke identity-service", e);
         }
     }
+
+    // identity.upstream.failures{reason=error|circuit_open|bulkhead_full}
+    private void upstreamFailure(String reason) {
+        meterRegistry.counter("identity.upstream.failures", "reason", reason).increment();
+    }
+
+    // TTL berbeda untuk hasil positif dan negatif
+    private record VerdictExpiry(long positiveTtlNanos, long negativeTtlNanos) implements Expiry<String, Boolean> {
+        @Override
+        public long expireAfterCreate(String nik, Boolean exists, long currentTime) {
+            return Boolean.TRUE.equals(exists) ? positiveTtlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String nik, Boolean exists, long currentTime, long currentDuration) {
+            return expireAfterCreate(nik, exists, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String nik, Boolean exists, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -0,0 +1,58 @@
+package com.yolifay.eventservice.client;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@Getter
+public class IdentityClientProperties {
+
+    @Value("${identity.nik-cache.maximum-size}")
+    private long nikCacheMaximumSize;
+
+    @Value("${identity.nik-cache.positive-ttl-ms}")
+    private long nikCachePositiveTtlMs;   // NIK ditemukan
+
+    @Value("${identity.nik-cache.negative-ttl-ms}")
+    private long nikCacheNegativeTtlMs;   // NIK tidak ditemukan, dibuat pendek agar warga baru cepat terlihat
+
+    @Value("${identity.lookup-parallelism}")
+    private int lookupParallelism;        // maksimal lookup paralel saat verifikasi batch
+
+    @Value("${identity.circuit-breaker.failure-rate-threshold}")
+    private float circuitBreakerFailureRateThreshold;     // persen
+
+    @Value("${identity.circuit-breaker.slow-call-rate-threshold}")
+    private float circuitBreakerSlowCallRateThreshold;    // persen
+
+    @Value("${identity.circuit-breaker.slow-call-duration-ms}")
+    private long circuitBreakerSlowCallDurationMs;
+
+    @Value("${identity.circuit-breaker.sliding-window-size}")
+    private int circuitBreakerSlidingWindowSize;          // jumlah panggilan terakhir yang dinilai
+
+    @Value("${identity.circuit-breaker.minimum-calls}")
+    private int circuitBreakerMinimumCalls;
+
+    @Value("${identity.circuit-breaker.open-state-ms}")
+    private long circuitBreakerOpenStateMs;               // lama fail-fast sebelum half-open
+
+    @Value("${identity.circuit-breaker.half-open-calls}")
+    private int circuitBreakerHalfOpenCalls;
+
+    @Value("${identity.bulkhead.max-concurrent-calls}")
+    private int bulkheadMaxConcurrentCalls;
+
+    @Value("${identity.bulkhead.max-wait-ms}")
+    private long bulkheadMaxWaitMs;
+
+    @Value("${identity.fallback.enabled}")
+    private boolean fallbackEnabled;
+
+    @Value("${identity.fallback.maximum-size}")
+    private long fallbackMaximumSize;
+
+    @Value("${identity.fallback.ttl-ms}")
+    private long fallbackTtlMs;
+}
@@ -0,0 +1,27 @@
+package com.yolifay.eventservice.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class IdentityExecutorConfig {
+
+    /**
+     * Executor lookup NIK paralel (verifikasi batch), maksimal lookup-parallelism panggilan bersamaan
+     * ke identity-service. Di mode virtual thread setiap lookup mendapat virtual thread baru dan batasnya
+     * dijaga Semaphore; selain itu pool platform thread berukuran tetap.
+     */
+    @Bean(name = "identityLookupExecutor", destroyMethod = "shutdown")
+    public ExecutorService identityLookupExecutor(IdentityClientProperties props,
+                                                  @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            return new LimitedVirtualThreadExecutor("identity-lookup-", props.getLookupParallelism());
+        }
+        return Executors.newFixedThreadPool(props.getLookupParallelism(),
+                Thread.ofPlatform().name("identity-lookup-", 0).daemon(true).factory());
+    }
+}
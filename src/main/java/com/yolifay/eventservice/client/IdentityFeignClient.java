@@ -6,9 +6,10 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 
+// URL dari spring.cloud.openfeign.client.config.identityClient.url, bukan atribut url: di image AOT atribut
+// @FeignClient dibekukan saat build sehingga IDENTITY_BASE_URL saat runtime tidak berpengaruh
 @FeignClient(
         name = "identityClient",
-        url = "${feign.client.identity.base.url}",
         configuration = FeignConfig.class
 )
 public interface IdentityFeignClient {
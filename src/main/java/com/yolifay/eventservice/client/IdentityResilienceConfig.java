@@ -0,0 +1,76 @@
+package com.yolifay.eventservice.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class IdentityResilienceConfig {
+
+    public static final String IDENTITY = "identity";
+
+    /**
+     * Circuit breaker untuk identity-service. Hanya error upstream (IllegalStateException) yang dihitung gagal;
+     * 404/409 adalah jawaban valid dan penolakan bulkhead bukan kesalahan upstream.
+     * Metric: resilience4j.circuitbreaker.state / .calls / .not.permitted.calls
+     */
+    @Bean
+    public CircuitBreaker identityCircuitBreaker(IdentityClientProperties props, MeterRegistry meterRegistry) {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.ofDefaults();
+        CircuitBreaker breaker = registry.circuitBreaker(IDENTITY, circuitBreakerConfig(props));
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return breaker;
+    }
+
+    /**
+     * Membatasi panggilan bersamaan ke identity-service.
+     * Metric: resilience4j.bulkhead.available.concurrent.calls dan identity.bulkhead.rejected
+     */
+    @Bean
+    public Bulkhead identityBulkhead(IdentityClientProperties props, MeterRegistry meterRegistry) {
+        BulkheadRegistry registry = BulkheadRegistry.ofDefaults();
+        Bulkhead bulkhead = registry.bulkhead(IDENTITY, bulkheadConfig(props));
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+
+        Counter rejected = Counter.builder("identity.bulkhead.rejected")
+                .description("Panggilan identity-service yang ditolak bulkhead")
+                .register(meterRegistry);
+        bulkhead.getEventPublisher().onCallRejected(e -> rejected.increment());
+        return bulkhead;
+    }
+
+    static CircuitBreakerConfig circuitBreakerConfig(IdentityClientProperties props) {
+        return CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(props.getCircuitBreakerSlidingWindowSize())
+                .minimumNumberOfCalls(props.getCircuitBreakerMinimumCalls())
+                .failureRateThreshold(props.getCircuitBreakerFailureRateThreshold())
+                .slowCallRateThreshold(props.getCircuitBreakerSlowCallRateThreshold())
+                .slowCallDurationThreshold(Duration.ofMillis(props.getCircuitBreakerSlowCallDurationMs()))
+                .waitDurationInOpenState(Duration.ofMillis(props.getCircuitBreakerOpenStateMs()))
+                .permittedNumberOfCallsInHalfOpenState(props.getCircuitBreakerHalfOpenCalls())
+                .automaticTransitionFromOpenToHalfOpenEnabled(false)
+                .recordExceptions(IllegalStateException.class)
+                .ignoreExceptions(BulkheadFullException.class)
+                .build();
+    }
+
+    static BulkheadConfig bulkheadConfig(IdentityClientProperties props) {
+        return BulkheadConfig.custom()
+                .maxConcurrentCalls(props.getBulkheadMaxConcurrentCalls())
+                .maxWaitDuration(Duration.ofMillis(props.getBulkheadMaxWaitMs()))
+                .build();
+    }
+}
@@ -11,6 +11,7 @@ public class Constants {
     public enum RESPONSE {
         APPROVED("00", "Approved"),
         CREATED("01", "Created"),
+        ACCEPTED("02", "Accepted"),
 
         BAD_REQUEST("40", "Permintaan tidak valid"),
         UNAUTHORIZED("41", "Unauthorized"),
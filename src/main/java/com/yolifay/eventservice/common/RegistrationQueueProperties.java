@@ -0,0 +1,23 @@
+package com.yolifay.eventservice.common;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@Getter
+public class RegistrationQueueProperties {
+
+    // Dicek saat berjalan (bukan @ConditionalOnProperty) agar tetap bisa diubah pada build AOT
+    @Value("${registration.async.enabled}")
+    private boolean enabled;
+
+    @Value("${registration.async.batch-size}")
+    private int batchSize;
+
+    @Value("${registration.async.max-attempts}")
+    private int maxAttempts;
+
+    @Value("${registration.async.claim-timeout-ms}")
+    private long claimTimeoutMs;   // tiket PROCESSING lebih lama dari ini dianggap ditinggal worker dan diklaim ulang
+}
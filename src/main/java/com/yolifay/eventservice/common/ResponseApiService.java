@@ -1,16 +1,51 @@
 package com.yolifay.eventservice.common;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.*;
 
 @Getter
 @Setter
-@AllArgsConstructor
 @NoArgsConstructor
-@Builder
 @JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonSerialize(using = ResponseApiServiceSerializer.class)
 public class ResponseApiService<T> {
     private String responseCode; // HTTP Status + Service ID + Case Code (eg. 40400001A01)
     private String responseDesc; // ACCOUNT NOT FOUND
     private T data;              // Data Object | payload
+
+    // Versi ter-encode dari responseCode/responseDesc, diisi ResponseApiUtil untuk kode standar;
+    // dikosongkan oleh setter responseCode/responseDesc
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private ResponseHeader header;
+
+    @Builder
+    public ResponseApiService(String responseCode, String responseDesc, T data) {
+        this.responseCode = responseCode;
+        this.responseDesc = responseDesc;
+        this.data = data;
+    }
+
+    ResponseApiService(ResponseHeader header, T data) {
+        this(header.code().getValue(), header.description().getValue(), data);
+        this.header = header;
+    }
+
+    public void setResponseCode(String responseCode) {
+        this.responseCode = responseCode;
+        this.header = null;
+    }
+
+    public void setResponseDesc(String responseDesc) {
+        this.responseDesc = responseDesc;
+        this.header = null;
+    }
+
+    /**
+     * Header pre-encoded, null jika tidak ada atau responseCode/responseDesc sudah diubah lewat setter
+     */
+    ResponseHeader header() {
+        return header;
+    }
 }
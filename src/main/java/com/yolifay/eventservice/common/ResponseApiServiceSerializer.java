@@ -0,0 +1,54 @@
+package com.yolifay.eventservice.common;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Serializer envelope ResponseApiService. Nama field dan header dari ResponseApiUtil ditulis dari
+ * SerializedString yang sudah di-encode; hanya data yang melewati serializer Jackson biasa.
+ * Field null tidak ditulis (sama dengan @JsonInclude NON_NULL).
+ */
+public class ResponseApiServiceSerializer extends StdSerializer<ResponseApiService<?>> {
+
+    private static final SerializedString RESPONSE_CODE = new SerializedString("responseCode");
+    private static final SerializedString RESPONSE_DESC = new SerializedString("responseDesc");
+    private static final SerializedString DATA = new SerializedString("data");
+
+    @SuppressWarnings("unchecked")
+    public ResponseApiServiceSerializer() {
+        super((Class<ResponseApiService<?>>) (Class<?>) ResponseApiService.class);
+    }
+
+    @Override
+    public void serialize(ResponseApiService<?> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+
+        ResponseHeader header = value.header();
+        if (header != null) {
+            gen.writeFieldName(RESPONSE_CODE);
+            gen.writeString(header.code());
+            gen.writeFieldName(RESPONSE_DESC);
+            gen.writeString(header.description());
+        } else {
+            if (value.getResponseCode() != null) {
+                gen.writeFieldName(RESPONSE_CODE);
+                gen.writeString(value.getResponseCode());
+            }
+            if (value.getResponseDesc() != null) {
+                gen.writeFieldName(RESPONSE_DESC);
+                gen.writeString(value.getResponseDesc());
+            }
+        }
+
+        if (value.getData() != null) {
+            gen.writeFieldName(DATA);
+            provider.defaultSerializeValue(value.getData(), gen);
+        }
+
+        gen.writeEndObject();
+    }
+}
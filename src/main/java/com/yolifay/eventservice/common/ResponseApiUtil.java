@@ -1,18 +1,51 @@
 package com.yolifay.eventservice.common;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public final class ResponseApiUtil {
 
     private ResponseApiUtil() {
         throw new IllegalStateException("Utility Class");
     }
 
+    private static final Constants.RESPONSE[] RESPONSES = Constants.RESPONSE.values();
+    private static final int MIN_STATUS = 100;
+    private static final int MAX_STATUS = 599;
+    private static final int STATUS_RANGE = MAX_STATUS - MIN_STATUS + 1;
+
+    // Header per service id, diindeks [RESPONSE.ordinal * STATUS_RANGE + (status - 100)]; diisi saat pertama dipakai
+    private static final Map<String, ResponseHeader[]> HEADERS = new ConcurrentHashMap<>();
+
     // format code: [HTTP-3digit][SERVICE_ID][CASE_CODE]
     // contoh: 404 + 00001 + A01  => "40400001A01"
-    private static String formatCode(int httpStatus, String serviceId, String caseCode) {
-        String http3 = String.format("%03d", httpStatus);
+    static String formatCode(int httpStatus, String serviceId, String caseCode) {
         String svc   = serviceId == null ? "" : serviceId;
         String code  = caseCode == null ? "" : caseCode;
-        return http3 + svc + code;
+        StringBuilder sb = new StringBuilder(3 + svc.length() + code.length());
+        if (httpStatus >= 0 && httpStatus < 100) {
+            sb.append(httpStatus < 10 ? "00" : "0");
+        }
+        return sb.append(httpStatus).append(svc).append(code).toString();
+    }
+
+    /**
+     * Header untuk kombinasi status, service id dan RESPONSE; dihitung sekali lalu dipakai ulang
+     */
+    static ResponseHeader header(int httpStatus, String serviceId, Constants.RESPONSE response) {
+        if (httpStatus < MIN_STATUS || httpStatus > MAX_STATUS) {
+            return ResponseHeader.of(formatCode(httpStatus, serviceId, response.getCode()), response.getDescription());
+        }
+        ResponseHeader[] table = HEADERS.computeIfAbsent(serviceId == null ? "" : serviceId,
+                svc -> new ResponseHeader[RESPONSES.length * STATUS_RANGE]);
+        int idx = response.ordinal() * STATUS_RANGE + (httpStatus - MIN_STATUS);
+        ResponseHeader header = table[idx];
+        if (header == null) {
+            // race aman: nilai yang sama, record immutable
+            header = ResponseHeader.of(formatCode(httpStatus, serviceId, response.getCode()), response.getDescription());
+            table[idx] = header;
+        }
+        return header;
     }
 
     /**
@@ -21,11 +54,7 @@ public final class ResponseApiUtil {
     public static <T> ResponseApiService<T> setResponse(
             int httpStatus, String serviceId, Constants.RESPONSE response, T obj) {
 
-        return ResponseApiService.<T>builder()
-                .responseCode(formatCode(httpStatus, serviceId, response.getCode()))
-                .responseDesc(response.getDescription())
-                .data(obj)
-                .build();
+        return new ResponseApiService<>(header(httpStatus, serviceId, response), obj);
     }
 
     /**
@@ -34,10 +63,6 @@ public final class ResponseApiUtil {
     public static <T> ResponseApiService<T> setResponse(
             int httpStatus, String serviceId, String caseCode, String description, T obj) {
 
-        return ResponseApiService.<T>builder()
-                .responseCode(formatCode(httpStatus, serviceId, caseCode))
-                .responseDesc(description)
-                .data(obj)
-                .build();
+        return new ResponseApiService<>(formatCode(httpStatus, serviceId, caseCode), description, obj);
     }
-}
\ No newline at end of file
+}
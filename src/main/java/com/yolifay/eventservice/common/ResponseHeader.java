@@ -0,0 +1,14 @@
+package com.yolifay.eventservice.common;
+
+import com.fasterxml.jackson.core.io.SerializedString;
+
+/**
+ * responseCode + responseDesc yang sudah di-encode; dibuat sekali per kombinasi status, service id dan RESPONSE.
+ * SerializedString menyimpan hasil encode JSON-nya sendiri setelah pemakaian pertama.
+ */
+public record ResponseHeader(SerializedString code, SerializedString description) {
+
+    public static ResponseHeader of(String code, String description) {
+        return new ResponseHeader(new SerializedString(code), new SerializedString(description));
+    }
+}
@@ -0,0 +1,48 @@
+package com.yolifay.eventservice.common;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generator UUID versi 7 (RFC 9562): 48 bit unix epoch millis, 12 bit counter, 62 bit acak.
+ * Id baru selalu lebih besar dari id sebelumnya di JVM yang sama, juga untuk id dalam milidetik yang sama
+ * (counter 12 bit; jika habis, timestamp dimajukan 1 ms) dan saat jam sistem mundur.
+ * Insert ke primary key B-tree jadi selalu di ujung kanan index.
+ * <p>
+ * Bagian acak memakai ThreadLocalRandom (tanpa lock); id tidak dimaksudkan sebagai rahasia.
+ */
+public final class UuidV7 {
+
+    private UuidV7() {
+        throw new IllegalStateException("Utility Class");
+    }
+
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    // (millis << 12) | counter dari id terakhir
+    private static final AtomicLong LAST = new AtomicLong();
+
+    public static UUID next() {
+        return next(System.currentTimeMillis());
+    }
+
+    static UUID next(long nowMillis) {
+        long floor = nowMillis << COUNTER_BITS;
+        long prev;
+        long state;
+        do {
+            prev = LAST.get();
+            state = Math.max(floor, prev + 1);
+        } while (!LAST.compareAndSet(prev, state));
+
+        long millis = state >>> COUNTER_BITS;
+        long msb = (millis << 16) | VERSION | (state & COUNTER_MASK);
+        long lsb = VARIANT | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+        return new UUID(msb, lsb);
+    }
+}
@@ -0,0 +1,41 @@
+package com.yolifay.eventservice.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class DataSourceRoutingConfig {
+
+    /**
+     * Pool primary, dikonfigurasi dari spring.datasource.* seperti auto-configuration Boot
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * DataSource aplikasi. Koneksi fisik baru diambil saat statement pertama, setelah transaksi
+     * menandai koneksi readOnly (@Transactional(readOnly = true)); koneksi readOnly diambil dari
+     * replica (atau primary jika replica tertinggal/mati), selain itu dari primary.
+     * <p>
+     * Butuh spring.jpa.open-in-view=false: dengan open-in-view, Hibernate menahan koneksi fisik pertama
+     * sampai request selesai, sehingga transaksi read-write setelah transaksi readOnly di request yang sama
+     * ikut berjalan di koneksi replica.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaDataSource replica) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+        proxy.setReadOnlyDataSource(new ReplicaFallbackDataSource(primaryDataSource, replica));
+        return proxy;
+    }
+}
@@ -0,0 +1,153 @@
+package com.yolifay.eventservice.common.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool koneksi ke read replica beserta status kesehatannya. Lag replay diukur berkala;
+ * replica dipakai hanya jika lag-nya dalam batas max-lag-ms dan pengecekan terakhir berhasil serta belum lebih
+ * tua dari max-probe-age-ms. Pengecekan berjalan di thread sendiri, bukan scheduler bersama @Scheduled
+ * (reload index waktu, worker antrean), agar tidak tertunda oleh task lain.
+ * Sengaja bukan bean DataSource agar tidak ikut dipakai auto-configuration (JPA, Flyway, health).
+ * <p>
+ * Metric: datasource.replica.lag (ms), datasource.replica.usable (1/0), datasource.replica.fallback,
+ * dan metric hikaricp.* dengan pool=replica.
+ */
+@Slf4j
+@Component
+public class ReplicaDataSource implements DisposableBean {
+
+    // 0 jika replica sudah me-replay semua WAL yang diterima; selain itu umur transaksi terakhir yang di-replay.
+    // null jika walreceiver tidak streaming: receive = replay tetap benar walau replica terputus dari primary,
+    // jadi lag-nya tidak diketahui. Status pg_stat_wal_receiver hanya terlihat oleh role pg_read_all_stats.
+    private static final String LAG_SQL = """
+            select case
+                     when not pg_is_in_recovery() then 0
+                     when not exists (select 1 from pg_stat_wal_receiver where status = 'streaming') then null
+                     when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                     else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+                   end""";
+
+    private final HikariDataSource pool;
+    private final long maxLagMs;
+    private final long maxProbeAgeNanos;
+    private final Counter fallbacks;
+    private final ScheduledExecutorService lagChecker;
+
+    private volatile boolean usable;
+    private volatile long lastProbeNanos;
+    private volatile double lagMs = Double.NaN;
+
+    public ReplicaDataSource(ReplicaProperties props, MeterRegistry meterRegistry) {
+        this.maxLagMs = props.getMaxLagMs();
+        this.maxProbeAgeNanos = TimeUnit.MILLISECONDS.toNanos(props.getMaxProbeAgeMs());
+        this.pool = props.isEnabled() ? createPool(props, meterRegistry) : null;
+
+        Gauge.builder("datasource.replica.lag", this, r -> r.lagMs)
+                .description("Lag replay read replica")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.usable", this, r -> r.isUsable() ? 1 : 0)
+                .description("1 jika transaksi readOnly sedang diarahkan ke replica")
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("datasource.replica.fallback")
+                .description("Koneksi readOnly yang dialihkan ke primary karena replica tertinggal atau mati")
+                .register(meterRegistry);
+
+        if (pool != null) {
+            this.lagChecker = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                    .name("replica-lag-check").daemon().factory());
+            lagChecker.scheduleWithFixedDelay(this::checkLag, 0, props.getLagCheckIntervalMs(), TimeUnit.MILLISECONDS);
+        } else {
+            this.lagChecker = null;
+        }
+    }
+
+    private static HikariDataSource createPool(ReplicaProperties props, MeterRegistry meterRegistry) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("replica");
+        config.setJdbcUrl(props.getUrl());
+        config.setUsername(props.getUsername());
+        config.setPassword(props.getPassword());
+        config.setMaximumPoolSize(props.getMaximumPoolSize());
+        config.setConnectionTimeout(props.getConnectionTimeoutMs());
+        config.setReadOnly(true);
+        config.setInitializationFailTimeout(-1);   // replica mati saat boot tidak menggagalkan aplikasi
+        config.setMetricRegistry(meterRegistry);
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * Koneksi untuk transaksi readOnly: dari replica jika sehat, selain itu dari primary.
+     */
+    Connection getConnection(DataSource primary) throws SQLException {
+        if (pool != null && isUsable()) {
+            try {
+                return pool.getConnection();
+            } catch (SQLException e) {
+                markUnusable("koneksi gagal: " + e.getMessage());
+            }
+        }
+        if (pool != null) fallbacks.increment();
+        return primary.getConnection();
+    }
+
+    // Hasil cek lag yang sudah kedaluwarsa (cek macet atau tertunda) tidak dipercaya: replica bisa tertinggal jauh
+    private boolean isUsable() {
+        if (!usable) return false;
+        if (System.nanoTime() - lastProbeNanos <= maxProbeAgeNanos) return true;
+        markUnusable("cek lag terakhir lebih tua dari " + TimeUnit.NANOSECONDS.toMillis(maxProbeAgeNanos) + " ms");
+        return false;
+    }
+
+    void checkLag() {
+        try (Connection con = pool.getConnection();
+             Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery(LAG_SQL)) {
+            rs.next();
+            double lag = rs.getDouble(1);
+            if (rs.wasNull()) {
+                lagMs = Double.NaN;
+                markUnusable("WAL receiver replica tidak streaming");
+                return;
+            }
+            lagMs = lag;
+            if (lagMs <= maxLagMs) {
+                if (!usable) log.info("Read replica dipakai lagi, lag {} ms", (long) lagMs);
+                lastProbeNanos = System.nanoTime();
+                usable = true;
+            } else {
+                markUnusable("lag " + (long) lagMs + " ms > " + maxLagMs + " ms");
+            }
+        } catch (SQLException | RuntimeException e) {   // exception yang lolos menghentikan jadwal executor
+            lagMs = Double.NaN;
+            markUnusable("cek lag gagal: " + e.getMessage());
+        }
+    }
+
+    private void markUnusable(String reason) {
+        if (usable) log.warn("Read replica tidak dipakai, transaksi readOnly ke primary ({})", reason);
+        usable = false;
+    }
+
+    @Override
+    public void destroy() {
+        if (lagChecker != null) lagChecker.shutdownNow();
+        if (pool != null) pool.close();
+    }
+}
@@ -0,0 +1,30 @@
+package com.yolifay.eventservice.common.datasource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * DataSource untuk koneksi readOnly: replica jika sehat, primary jika tidak.
+ */
+class ReplicaFallbackDataSource extends AbstractDataSource {
+    private final DataSource primary;
+    private final ReplicaDataSource replica;
+
+    ReplicaFallbackDataSource(DataSource primary, ReplicaDataSource replica) {
+        this.primary = primary;
+        this.replica = replica;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return replica.getConnection(primary);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Gunakan getConnection() tanpa kredensial");
+    }
+}
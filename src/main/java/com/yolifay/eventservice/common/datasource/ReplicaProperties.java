@@ -0,0 +1,37 @@
+package com.yolifay.eventservice.common.datasource;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@Getter
+public class ReplicaProperties {
+
+    @Value("${datasource.replica.enabled}")
+    private boolean enabled;
+
+    @Value("${datasource.replica.url:}")
+    private String url;
+
+    @Value("${datasource.replica.username:}")
+    private String username;
+
+    @Value("${datasource.replica.password:}")
+    private String password;
+
+    @Value("${datasource.replica.maximum-pool-size}")
+    private int maximumPoolSize;
+
+    @Value("${datasource.replica.connection-timeout-ms}")
+    private long connectionTimeoutMs;   // pendek, agar fallback ke primary cepat saat replica mati
+
+    @Value("${datasource.replica.max-lag-ms}")
+    private long maxLagMs;              // lag di atas ini: transaksi readOnly dialihkan ke primary
+
+    @Value("${datasource.replica.lag-check-interval-ms}")
+    private long lagCheckIntervalMs;
+
+    @Value("${datasource.replica.max-probe-age-ms}")
+    private long maxProbeAgeMs;         // cek lag berhasil terakhir lebih tua dari ini: replica dianggap tidak aman
+}
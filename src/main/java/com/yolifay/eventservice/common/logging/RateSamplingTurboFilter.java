@@ -0,0 +1,75 @@
+package com.yolifay.eventservice.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Membatasi log per-request (level maxLevel ke bawah) dari logger tertentu menjadi paling banyak
+ * perSecond baris per detik; sisanya dibuang sebelum event log dibuat. WARN/ERROR selalu lolos.
+ * Dikonfigurasi di logback-spring.xml.
+ */
+public class RateSamplingTurboFilter extends TurboFilter {
+
+    private String[] loggerPrefixes = new String[0];
+    private Level maxLevel = Level.INFO;
+    private int perSecond = 200;
+
+    private final LongSupplier clock;
+    private final AtomicLong windowSecond = new AtomicLong();
+    private final AtomicInteger windowCount = new AtomicInteger();
+
+    public RateSamplingTurboFilter() {
+        this(System::currentTimeMillis);
+    }
+
+    // Jam yang bisa diatur, dipakai test
+    RateSamplingTurboFilter(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format null = panggilan isXxxEnabled(), jangan makan kuota
+        if (format == null || level.toInt() > maxLevel.toInt() || !logger.isEnabledFor(level)
+                || !matches(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+
+        long second = clock.getAsLong() / 1000;
+        long current = windowSecond.get();
+        if (second != current && windowSecond.compareAndSet(current, second)) {
+            windowCount.set(0);
+        }
+        return windowCount.incrementAndGet() <= perSecond ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private boolean matches(String name) {
+        for (String prefix : loggerPrefixes) {
+            if (name.startsWith(prefix)) return true;
+        }
+        return false;
+    }
+
+    public void setLoggers(String loggers) {
+        this.loggerPrefixes = Arrays.stream(loggers.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    public void setMaxLevel(String maxLevel) {
+        this.maxLevel = Level.toLevel(maxLevel, Level.INFO);
+    }
+
+    public void setPerSecond(int perSecond) {
+        this.perSecond = perSecond;
+    }
+}
@@ -2,26 +2,48 @@ package com.yolifay.eventservice.controller;
 
 import com.yolifay.eventservice.common.Constants;
 import com.yolifay.eventservice.common.ConstantsProperties;
+import com.yolifay.eventservice.common.RegistrationQueueProperties;
 import com.yolifay.eventservice.common.ResponseApiService;
 import com.yolifay.eventservice.common.ResponseApiUtil;
 import com.yolifay.eventservice.dto.*;
 import com.yolifay.eventservice.dto.pagination.BasePaging;
+import com.yolifay.eventservice.dto.pagination.CursorPageEnvelope;
 import com.yolifay.eventservice.dto.pagination.PageEnvelope;
+import com.yolifay.eventservice.service.CachedEvent;
+import com.yolifay.eventservice.service.EventImportService;
 import com.yolifay.eventservice.service.EventService;
+import com.yolifay.eventservice.service.ParticipantExportService;
+import com.yolifay.eventservice.service.RegistrationQueueService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+import static com.yolifay.eventservice.common.BinaryCodecConfig.APPLICATION_SMILE_VALUE;
+
+/**
+ * Endpoint baca (listing, window, availability, by-id) juga melayani Accept: application/cbor dan
+ * application/x-jackson-smile dengan envelope yang sama; JSON tetap default. Response endpoint tersebut
+ * membawa Vary: Accept agar cache bersama tidak menyajikan CBOR ke client JSON (dan sebaliknya).
+ */
 @Slf4j
 @RestController
 @RequestMapping("/events")
@@ -29,7 +51,14 @@ import java.util.UUID;
 @Validated
 public class EventController {
     private final EventService eventService;
+    private final ParticipantExportService participantExportService;
+    private final RegistrationQueueService registrationQueueService;
+    private final EventImportService eventImportService;
     private final ConstantsProperties constantsProperties;
+    private final RegistrationQueueProperties registrationQueueProperties;
+
+    @Value("${export.participants.timeout-ms}")
+    private long exportTimeoutMs;
 
     @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<ResponseApiService<EventResponse>> createEvent(@RequestBody @Valid EventCreateRequest req) {
@@ -48,23 +77,47 @@ public class EventController {
         );
     }
 
-    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ResponseApiService<PageEnvelope<EventResponse>>> listEvents(
+    /**
+     * Import event massal dari body CSV (text/csv) atau NDJSON (application/x-ndjson), di-stream tanpa
+     * menampung seluruh file. Baris tidak valid dilewati dan dilaporkan per nomor baris.
+     */
+    @PostMapping(value = "/import", produces = MediaType.APPLICATION_JSON_VALUE, consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ResponseApiService<EventImportResult>> importEvents(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) {
+        log.info("Incoming import events");
+
+        var response = eventImportService.importEvents(body, ImportFormat.fromContentType(contentType));
+
+        log.info("Outgoing import events");
+        return ResponseEntity.status(HttpStatus.OK).body(
+                ResponseApiUtil.setResponse(
+                        HttpStatus.OK.value(),
+                        constantsProperties.getServiceId(),
+                        Constants.RESPONSE.APPROVED,
+                        response
+                )
+        );
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ResponseApiService<PageEnvelope<?>>> listEvents(
             @RequestParam(required=false) Integer page,
             @RequestParam(required=false, name="perpage") Integer perPage,
             @RequestParam(required=false, name="sortField") String sortField,
             @RequestParam(required=false, name="sortDirection") String sortDirection,
             @RequestParam(required=false, name="q") String q,
             @RequestParam(required=false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
-            @RequestParam(required=false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+            @RequestParam(required=false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required=false) String fields
     ){
         log.info("Incoming search event");
 
+        // fields=title,startTime,location: hanya field tersebut (plus id) yang di-SELECT dan dikirim
         var paging = new BasePaging(page, perPage, sortField, sortDirection, q);
-        var response = eventService.listEvents(paging, from, to);
+        var response = eventService.listEvents(paging, from, to, EventField.parse(fields));
 
         log.info("Outgoing search event");
-        return ResponseEntity.status(HttpStatus.OK).body(
+        return negotiated().body(
                 ResponseApiUtil.setResponse(
                         HttpStatus.OK.value(),
                         constantsProperties.getServiceId(),
@@ -74,19 +127,97 @@ public class EventController {
         );
     }
 
-    @GetMapping(value = "/by-id/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    /**
+     * Mode cursor (keyset). Aktif jika parameter cursor dikirim; halaman pertama pakai ?cursor= (kosong).
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE}, params = "cursor")
+    public ResponseEntity<ResponseApiService<CursorPageEnvelope<EventResponse>>> listEventsByCursor(
+            @RequestParam(required=false) String cursor,
+            @RequestParam(required=false, name="perpage") Integer perPage,
+            @RequestParam(required=false, name="sortField") String sortField,
+            @RequestParam(required=false, name="sortDirection") String sortDirection,
+            @RequestParam(required=false, name="q") String q,
+            @RequestParam(required=false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required=false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue="false", name="estimateTotal") boolean estimateTotal
+    ){
+        log.info("Incoming search event by cursor");
+
+        var paging = new BasePaging(1, perPage, sortField, sortDirection, q);
+        var response = eventService.listEventsByCursor(paging, cursor, from, to, estimateTotal);
+
+        log.info("Outgoing search event by cursor");
+        return negotiated().body(
+                ResponseApiUtil.setResponse(
+                        HttpStatus.OK.value(),
+                        constantsProperties.getServiceId(),
+                        Constants.RESPONSE.APPROVED,
+                        response
+                )
+        );
+    }
+
+    /**
+     * Event yang berjalan di window [from, to) (match=overlap) atau mulai di window tersebut (match=start).
+     */
+    @GetMapping(value = "/window", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ResponseApiService<List<EventResponse>>> listEventsInWindow(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue="overlap") String match,
+            @RequestParam(required=false, name="perpage") Integer perPage
+    ){
+        log.info("Incoming list events in window");
+
+        var paging = new BasePaging(1, perPage, null, null, null);
+        var response = eventService.listEventsInWindow(from, to, TimeWindowMatch.from(match), paging);
+
+        log.info("Outgoing list events in window");
+        return negotiated().body(
+                ResponseApiUtil.setResponse(
+                        HttpStatus.OK.value(),
+                        constantsProperties.getServiceId(),
+                        Constants.RESPONSE.APPROVED,
+                        response
+                )
+        );
+    }
+
+    /**
+     * Kuota, jumlah terdaftar, dan sisa kursi untuk daftar event (mis. kartu event di portal).
+     */
+    @PostMapping(value = "/availability", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE}, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResponseApiService<List<EventAvailabilityResponse>>> getAvailability(
+            @RequestBody @Valid EventAvailabilityRequest req) {
+        log.info("Incoming get availability: {} events", req.eventIds().size());
+
+        var response = eventService.getAvailability(req.eventIds());
+
+        log.info("Outgoing get availability");
+        return negotiated().body(
+                ResponseApiUtil.setResponse(
+                        HttpStatus.OK.value(),
+                        constantsProperties.getServiceId(),
+                        Constants.RESPONSE.APPROVED,
+                        response
+                )
+        );
+    }
+
+    @GetMapping(value = "/by-id/{id}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
     public ResponseEntity<ResponseApiService<EventResponse>> getEventById(@PathVariable UUID id) {
         log.info("Incoming get event by id: {}", id);
 
-        EventResponse response = eventService.getEventById(id);
+        CachedEvent cached = eventService.getCachedEvent(id);
 
+        // Dengan header ETag, Spring menjawab 304 tanpa serialisasi body jika If-None-Match cocok
         log.info("Outgoing get event by id: {}", id);
-        return ResponseEntity.status(HttpStatus.OK).body(
+        return negotiated().eTag(cached.etag()).body(
                 ResponseApiUtil.setResponse(
                         HttpStatus.OK.value(),
                         constantsProperties.getServiceId(),
                         Constants.RESPONSE.APPROVED,
-                        response
+                        cached.event()
                 )
         );
     }
@@ -109,9 +240,24 @@ public class EventController {
     }
 
     @PostMapping(value="/{id}/register", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ResponseApiService<ParticipantResponse>> register(@PathVariable UUID id, @RequestBody @Valid RegisterParticipantRequest req){
+    public ResponseEntity<ResponseApiService<?>> register(@PathVariable UUID id, @RequestBody @Valid RegisterParticipantRequest req){
         log.info("Incoming participant register");
 
+        // Mode async: request masuk antrean, client polling status lewat /events/registrations/{ticketId}
+        if (registrationQueueProperties.isEnabled()) {
+            var ticket = registrationQueueService.enqueue(id, req);
+
+            log.info("Outgoing participant register queued");
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(
+                    ResponseApiUtil.setResponse(
+                            HttpStatus.ACCEPTED.value(),
+                            constantsProperties.getServiceId(),
+                            Constants.RESPONSE.ACCEPTED,
+                            ticket
+                    )
+            );
+        }
+
         var response = eventService.registerParticipant(id, req);
 
         return ResponseEntity.status(HttpStatus.CREATED).body(
@@ -124,14 +270,60 @@ public class EventController {
         );
     }
 
-    @GetMapping(value="/{id}/participants", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ResponseApiService<List<ParticipantResponse>>> listParticipants(@PathVariable UUID id){
+    @GetMapping(value="/registrations/{ticketId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResponseApiService<RegistrationTicketResponse>> getRegistrationTicket(@PathVariable UUID ticketId){
+        log.info("Incoming get registration ticket: {}", ticketId);
+
+        var response = registrationQueueService.getTicket(ticketId);
+
+        log.info("Outgoing get registration ticket: {}", ticketId);
+        return ResponseEntity.status(HttpStatus.OK).body(
+                ResponseApiUtil.setResponse(
+                        HttpStatus.OK.value(),
+                        constantsProperties.getServiceId(),
+                        Constants.RESPONSE.APPROVED,
+                        response
+                )
+        );
+    }
+
+    @PostMapping(value="/{id}/register/batch", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResponseApiService<List<BatchRegistrationResult>>> registerBatch(
+            @PathVariable UUID id,
+            @RequestBody
+            @NotEmpty(message="Daftar peserta tidak boleh kosong")
+            @Size(max=1000, message="Maksimal 1000 peserta per batch")
+            List<@Valid RegisterParticipantRequest> req){
+        log.info("Incoming batch participant register: {} entries", req.size());
+
+        var response = eventService.registerParticipantsBatch(id, req);
+
+        log.info("Outgoing batch participant register");
+        return ResponseEntity.status(HttpStatus.OK).body(
+                ResponseApiUtil.setResponse(
+                        HttpStatus.OK.value(),
+                        constantsProperties.getServiceId(),
+                        Constants.RESPONSE.APPROVED,
+                        response
+                )
+        );
+    }
+
+    @GetMapping(value="/{id}/participants", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ResponseApiService<CursorPageEnvelope<ParticipantResponse>>> listParticipants(
+            @PathVariable UUID id,
+            @RequestParam(required=false) String cursor,
+            @RequestParam(required=false, name="perpage") Integer perPage,
+            @RequestParam(required=false, name="nik")
+            @Pattern(regexp="\\d{1,16}", message="Prefix NIK harus 1-16 digit") String nik
+    ){
         log.info("Incoming list participants");
 
-        var response = eventService.listParticipants(id);
+        var paging = new BasePaging(1, perPage, "id", "asc", nik);
+        var response = eventService.listParticipants(id, paging, cursor);
 
         log.info("Outgoing list participants");
-        return ResponseEntity.status(HttpStatus.OK).body(
+        return negotiated().body(
                 ResponseApiUtil.setResponse(
                         HttpStatus.OK.value(),
                         constantsProperties.getServiceId(),
@@ -140,4 +332,37 @@ public class EventController {
                 )
         );
     }
+
+    /**
+     * Export di-stream di task async (executor MVC) seperti StreamingResponseBody, tetapi lewat WebAsyncTask
+     * agar timeout panjang export.participants.timeout-ms hanya berlaku untuk endpoint ini, bukan
+     * spring.mvc.async.request-timeout global.
+     */
+    @GetMapping(value="/{id}/participants/export")
+    public WebAsyncTask<Void> exportParticipants(@PathVariable UUID id,
+                                                 @RequestParam(defaultValue="ndjson") String format,
+                                                 HttpServletResponse response){
+        log.info("Incoming export participants");
+
+        ExportFormat exportFormat = ExportFormat.from(format);
+        eventService.getEventById(id); // 404 sebelum response mulai di-stream
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(exportFormat.getMediaType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"participants-" + id + "." + exportFormat.getExtension() + "\"");
+
+        log.info("Outgoing export participants");
+        return new WebAsyncTask<>(exportTimeoutMs, () -> {
+            OutputStream out = response.getOutputStream();
+            participantExportService.export(id, exportFormat, out);
+            out.flush();
+            return null;
+        });
+    }
+
+    // Endpoint dengan beberapa representasi (JSON/CBOR/Smile) di URL yang sama
+    private static ResponseEntity.BodyBuilder negotiated() {
+        return ResponseEntity.status(HttpStatus.OK).varyBy(HttpHeaders.ACCEPT);
+    }
 }
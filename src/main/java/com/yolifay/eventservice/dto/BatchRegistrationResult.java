@@ -0,0 +1,8 @@
+package com.yolifay.eventservice.dto;
+
+public record BatchRegistrationResult(
+        String wargaNik,
+        RegistrationStatus status,
+        String participantId    // hanya terisi jika REGISTERED
+) {
+}
@@ -0,0 +1,15 @@
+package com.yolifay.eventservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record EventAvailabilityRequest(
+        @NotEmpty(message="Daftar event tidak boleh kosong")
+        @Size(max=200, message="Maksimal 200 event per request")
+        List<@NotNull UUID> eventIds
+) {
+}
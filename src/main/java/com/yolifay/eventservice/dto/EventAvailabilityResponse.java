@@ -0,0 +1,15 @@
+package com.yolifay.eventservice.dto;
+
+import java.util.UUID;
+
+public record EventAvailabilityResponse(
+        String eventId,
+        Integer quota,
+        Integer registered,   // event.participant_count, diperbarui atomik di transaksi registrasi
+        Integer remaining
+) {
+    // Dipakai constructor expression JPQL di EventRepository.findAvailability
+    public EventAvailabilityResponse(UUID eventId, Integer quota, Integer registered) {
+        this(eventId.toString(), quota, registered, Math.max(quota - registered, 0));
+    }
+}
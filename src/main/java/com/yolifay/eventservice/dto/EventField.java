@@ -0,0 +1,47 @@
+package com.yolifay.eventservice.dto;
+
+import com.yolifay.eventservice.exception.BadRequestException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Field EventResponse yang bisa dipilih lewat ?fields= pada listing event. Urutan = urutan constructor EventResponse.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum EventField {
+    ID("id", UUID.class),
+    TITLE("title", String.class),
+    START_TIME("startTime", LocalDateTime.class),
+    END_TIME("endTime", LocalDateTime.class),
+    LOCATION("location", String.class),
+    QUOTA("quota", Integer.class),
+    DESCRIPTION("description", String.class);
+
+    private final String attribute;   // nama atribut entity Event sekaligus nama property JSON
+    private final Class<?> type;
+
+    /**
+     * "title,startTime" -> {ID, TITLE, START_TIME}. Kosong/null = semua field. id selalu ikut.
+     */
+    public static Set<EventField> parse(String fields) {
+        if (fields == null || fields.isBlank()) return EnumSet.allOf(EventField.class);
+        Set<EventField> selected = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            selected.add(from(name.trim()));
+        }
+        return selected;
+    }
+
+    private static EventField from(String name) {
+        for (EventField f : values()) {
+            if (f.attribute.equals(name)) return f;
+        }
+        throw new BadRequestException("Field tidak dikenal: " + name);
+    }
+}
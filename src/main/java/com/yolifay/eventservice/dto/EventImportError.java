@@ -0,0 +1,7 @@
+package com.yolifay.eventservice.dto;
+
+public record EventImportError(
+        long line,        // nomor baris NDJSON, atau nomor record CSV (header = 1)
+        String message
+) {
+}
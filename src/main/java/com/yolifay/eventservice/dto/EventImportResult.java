@@ -0,0 +1,12 @@
+package com.yolifay.eventservice.dto;
+
+import java.util.List;
+
+public record EventImportResult(
+        long rows,                  // baris data yang dibaca (tanpa header/baris kosong)
+        long imported,              // baris yang masuk tabel event lewat COPY
+        long rejected,              // baris yang gagal validasi
+        List<EventImportError> errors,
+        boolean errorsTruncated     // true jika error lebih banyak dari event.import.max-errors
+) {
+}
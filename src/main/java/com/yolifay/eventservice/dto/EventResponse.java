@@ -1,6 +1,7 @@
 package com.yolifay.eventservice.dto;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 public record EventResponse(
         String id,
@@ -11,4 +12,9 @@ public record EventResponse(
         Integer quota,
         String description
 ) {
+    // Dipakai constructor expression di EventProjectionRepository
+    public EventResponse(UUID id, String title, LocalDateTime startTime, LocalDateTime endTime, String location,
+                         Integer quota, String description) {
+        this(id.toString(), title, startTime, endTime, location, quota, description);
+    }
 }
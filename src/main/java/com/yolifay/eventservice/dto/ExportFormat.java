@@ -0,0 +1,22 @@
+package com.yolifay.eventservice.dto;
+
+import com.yolifay.eventservice.exception.BadRequestException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String extension;
+
+    public static ExportFormat from(String value) {
+        for (ExportFormat f : values()) {
+            if (f.extension.equalsIgnoreCase(value)) return f;
+        }
+        throw new BadRequestException("Format export tidak didukung: " + value);
+    }
+}
@@ -0,0 +1,25 @@
+package com.yolifay.eventservice.dto;
+
+import com.yolifay.eventservice.exception.BadRequestException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum ImportFormat {
+    NDJSON("application/x-ndjson"),
+    CSV("text/csv");
+
+    private final String mediaType;
+
+    /**
+     * Format dari header Content-Type, parameter seperti charset diabaikan.
+     */
+    public static ImportFormat fromContentType(String contentType) {
+        String mediaType = contentType == null ? "" : contentType.split(";", 2)[0].trim();
+        for (ImportFormat f : values()) {
+            if (f.mediaType.equalsIgnoreCase(mediaType)) return f;
+        }
+        throw new BadRequestException("Content-Type import tidak didukung: " + contentType);
+    }
+}
@@ -0,0 +1,27 @@
+package com.yolifay.eventservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Baris listing event dengan ?fields=: field yang tidak dipilih bernilai null dan tidak diserialisasi.
+ * Tanpa fields (atau semua field dipilih) listing tetap memakai EventResponse, null ikut ditulis.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PartialEventResponse(
+        String id,
+        String title,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        String location,
+        Integer quota,
+        String description
+) {
+    // Dipakai constructor expression di EventProjectionRepository
+    public PartialEventResponse(UUID id, String title, LocalDateTime startTime, LocalDateTime endTime, String location,
+                                Integer quota, String description) {
+        this(id.toString(), title, startTime, endTime, location, quota, description);
+    }
+}
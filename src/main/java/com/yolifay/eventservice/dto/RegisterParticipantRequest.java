@@ -1,8 +1,10 @@
 package com.yolifay.eventservice.dto;
 
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 
 public record RegisterParticipantRequest(
+        @NotNull(message="NIK wajib diisi")
         @Pattern(regexp="\\d{16}", message="NIK harus 16 digit") String wargaNik
 ) {
 }
@@ -0,0 +1,13 @@
+package com.yolifay.eventservice.dto;
+
+public enum RegistrationStatus {
+    REGISTERED,
+    DUPLICATE,      // sudah terdaftar, atau NIK muncul lebih dari sekali di batch
+    UNKNOWN_NIK,    // tidak ditemukan di identity-service
+    OVER_QUOTA,
+
+    // Hanya untuk tiket registrasi async
+    PENDING,
+    PROCESSING,
+    FAILED
+}
@@ -0,0 +1,11 @@
+package com.yolifay.eventservice.dto;
+
+public record RegistrationTicketResponse(
+        String ticketId,
+        String eventId,
+        String wargaNik,
+        RegistrationStatus status,
+        String participantId,   // terisi jika REGISTERED
+        String message          // alasan jika FAILED
+) {
+}
@@ -0,0 +1,21 @@
+package com.yolifay.eventservice.dto;
+
+import com.yolifay.eventservice.exception.BadRequestException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum TimeWindowMatch {
+    OVERLAP("overlap"),   // event yang sedang berjalan di dalam window
+    START("start");       // event yang mulai di dalam window
+
+    private final String value;
+
+    public static TimeWindowMatch from(String value) {
+        for (TimeWindowMatch m : values()) {
+            if (m.value.equalsIgnoreCase(value)) return m;
+        }
+        throw new BadRequestException("Parameter match tidak didukung: " + value);
+    }
+}
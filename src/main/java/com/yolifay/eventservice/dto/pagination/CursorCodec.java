@@ -0,0 +1,41 @@
+package com.yolifay.eventservice.dto.pagination;
+
+import com.yolifay.eventservice.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encode/decode cursor opaque untuk keyset pagination.
+ * Isi cursor hanya dibaca server, client cukup mengirim balik apa adanya.
+ */
+public final class CursorCodec {
+
+    private static final String SEPARATOR = "\u001f";
+
+    private CursorCodec() {
+        throw new IllegalStateException("Utility Class");
+    }
+
+    public static String encode(String... parts) {
+        String raw = String.join(SEPARATOR, parts);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Bagian terakhir boleh mengandung karakter apa pun (mis. judul event).
+     */
+    public static String[] decode(String cursor, int parts) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Cursor tidak valid");
+        }
+        String[] decoded = raw.split(SEPARATOR, parts);
+        if (decoded.length != parts) {
+            throw new BadRequestException("Cursor tidak valid");
+        }
+        return decoded;
+    }
+}
@@ -0,0 +1,43 @@
+package com.yolifay.eventservice.dto.pagination;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.List;
+
+/**
+ * Varian PageEnvelope untuk keyset pagination: tanpa COUNT, halaman berikutnya diambil lewat nextCursor.
+ */
+@JsonPropertyOrder({ "content", "size", "numberOfElements", "hasNext", "nextCursor", "totalElements", "estimatedTotal",
+        "sortMeta" })
+public record CursorPageEnvelope<T>(
+        List<T> content,
+        int size,                 // jumlah item per halaman
+        int numberOfElements,     // jumlah item aktual pada halaman ini
+        boolean hasNext,          // true jika masih ada halaman berikutnya
+        String nextCursor,        // kirim sebagai ?cursor= untuk halaman berikutnya; null jika tidak ada
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        Long totalElements,       // total pasti, hanya jika tersedia tanpa COUNT (mis. counter participant_count)
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        Long estimatedTotal,      // estimasi dari statistik planner, hanya jika diminta
+        SortMeta sortMeta
+) {
+    public static <T> CursorPageEnvelope<T> of(BasePaging paging, List<T> content, String nextCursor,
+                                               Long estimatedTotal, SortMeta sort) {
+        return of(paging, content, nextCursor, null, estimatedTotal, sort);
+    }
+
+    public static <T> CursorPageEnvelope<T> of(BasePaging paging, List<T> content, String nextCursor,
+                                               Long totalElements, Long estimatedTotal, SortMeta sort) {
+        return new CursorPageEnvelope<>(
+                content,
+                paging.perpage(),
+                content != null ? content.size() : 0,
+                nextCursor != null,
+                nextCursor,
+                totalElements,
+                estimatedTotal,
+                sort
+        );
+    }
+}
@@ -1,5 +1,6 @@
 package com.yolifay.eventservice.entity;
 
+import com.yolifay.eventservice.common.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -17,7 +18,7 @@ public class Event {
     @Column(nullable = false, updatable = false)
     private UUID id;
 
-    @PrePersist void pre(){ if (id==null) id = UUID.randomUUID(); }
+    @PrePersist void pre(){ if (id==null) id = UuidV7.next(); }
 
     @Column(nullable = false)
     private String title;
@@ -33,6 +34,12 @@ public class Event {
     @Column(nullable = false)
     private Integer quota;
 
+    // Hanya diubah lewat EventRepository.reserveSeat (UPDATE bersyarat), tidak ikut dirty checking
+    @Builder.Default
+    @Column(name = "participant_count", nullable = false, updatable = false,
+            columnDefinition = "integer not null default 0")
+    private Integer participantCount = 0;
+
     @Column(columnDefinition = "text")
     private String description;
 
@@ -1,5 +1,6 @@
 package com.yolifay.eventservice.entity;
 
+import com.yolifay.eventservice.common.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -9,13 +10,14 @@ import java.util.UUID;
 @AllArgsConstructor @NoArgsConstructor
 @Entity @Table(
         name = "event_participant",
-        uniqueConstraints = @UniqueConstraint(name = "uq_event_warga", columnNames = {"event_id","warga_nik"})
+        uniqueConstraints = @UniqueConstraint(name = "uq_event_warga", columnNames = {"event_id","warga_nik"}),
+        indexes = @Index(name = "idx_event_participant_event_id", columnList = "event_id, id")
 )
 public class EventParticipant {
     @Id
     private UUID id;
 
-    @PrePersist void pre(){ if (id==null) id = UUID.randomUUID(); }
+    @PrePersist void pre(){ if (id==null) id = UuidV7.next(); }
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "event_id")
@@ -0,0 +1,51 @@
+package com.yolifay.eventservice.entity;
+
+import com.yolifay.eventservice.common.UuidV7;
+import com.yolifay.eventservice.dto.RegistrationStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Antrean registrasi async (outbox). Id sekaligus menjadi ticket id untuk polling status.
+ */
+@Getter @Setter @Builder
+@AllArgsConstructor @NoArgsConstructor
+@Entity @Table(
+        name = "registration_request",
+        indexes = @Index(name = "idx_registration_request_status", columnList = "status, created_at")
+)
+public class RegistrationRequest {
+    @Id
+    private UUID id;
+
+    @PrePersist void pre(){ if (id==null) id = UuidV7.next(); }
+
+    @Column(name = "event_id", nullable = false)
+    private UUID eventId;
+
+    @Column(name = "warga_nik", length = 16, nullable = false)
+    private String wargaNik;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RegistrationStatus status;
+
+    private UUID participantId;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(columnDefinition = "text")
+    private String message;
+
+    @CreationTimestamp @Column(nullable=false, updatable=false)
+    private Instant createdAt;
+
+    private Instant claimedAt;
+
+    private Instant processedAt;
+}
@@ -0,0 +1,66 @@
+package com.yolifay.eventservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+
+/**
+ * Bulk insert event lewat COPY ... FROM STDIN: baris CSV ditulis langsung ke protokol COPY,
+ * tanpa statement per baris dan tanpa persistence context.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EventCopyRepository {
+
+    private static final String COPY_EVENT =
+            "COPY event (id, title, start_time, end_time, location, quota, description, participant_count, created_at) " +
+            "FROM STDIN WITH (FORMAT csv)";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @FunctionalInterface
+    public interface CopyRows {
+        /**
+         * Tulis baris CSV sesuai urutan kolom COPY_EVENT. Field kosong tanpa tanda kutip = NULL.
+         */
+        void write(Writer writer) throws IOException;
+    }
+
+    /**
+     * Return jumlah baris yang diterima server. Panggil di dalam transaksi read-write; jika rows
+     * melempar exception, COPY dibatalkan dan tidak ada baris yang tersimpan.
+     */
+    public long copyIn(CopyRows rows) {
+        return jdbcTemplate.execute((ConnectionCallback<Long>) con -> {
+            PGCopyOutputStream out = new PGCopyOutputStream(con.unwrap(PGConnection.class), COPY_EVENT, BUFFER_SIZE);
+            try {
+                Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+                rows.write(writer);
+                writer.flush();
+                return out.endCopy();
+            } catch (IOException e) {
+                cancel(out);
+                throw new UncheckedIOException(e);
+            } catch (RuntimeException e) {
+                cancel(out);
+                throw e;
+            }
+        });
+    }
+
+    private static void cancel(PGCopyOutputStream out) throws SQLException {
+        if (out.isActive()) out.cancelCopy();
+    }
+}
@@ -0,0 +1,122 @@
+package com.yolifay.eventservice.repository;
+
+import com.yolifay.eventservice.dto.ParticipantResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Akses JDBC langsung untuk operasi massal peserta yang tidak perlu lewat persistence context.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EventParticipantJdbcRepository {
+
+    private static final String INSERT_IGNORE_DUPLICATE =
+            "insert into event_participant (id, event_id, warga_nik) values (?, ?, ?) " +
+            "on conflict (event_id, warga_nik) do nothing";
+
+    private static final int NIK_LENGTH = 16;
+
+    private static final String SELECT_NIK_BY_EVENT =
+            "select warga_nik from event_participant where event_id = ?";
+
+    private static final String SELECT_PARTICIPANT_COUNT =
+            "select participant_count from event where id = ?";
+
+    private static final String SELECT_BY_EVENT =
+            "select id, warga_nik from event_participant where event_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record NewParticipant(UUID id, String wargaNik) {}
+
+    /**
+     * Insert peserta dalam satu JDBC batch. Return update count per baris, 0 jika NIK ternyata
+     * sudah terdaftar (race dengan registrasi lain). Butuh update count asli dari driver,
+     * jadi jangan aktifkan reWriteBatchedInserts pada datasource.
+     */
+    public int[] insertIgnoringDuplicates(UUID eventId, List<NewParticipant> rows) {
+        return jdbcTemplate.batchUpdate(INSERT_IGNORE_DUPLICATE, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                NewParticipant row = rows.get(i);
+                ps.setObject(1, row.id());
+                ps.setObject(2, eventId);
+                ps.setString(3, row.wargaNik());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+
+    /**
+     * Baca peserta satu event lewat cursor forward-only. Driver PostgreSQL hanya memakai cursor
+     * (bukan memuat seluruh result set) jika dipanggil di dalam transaksi dan fetchSize > 0.
+     */
+    public void streamByEvent(UUID eventId, int fetchSize, RowCallbackHandler handler) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_BY_EVENT,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setObject(1, eventId);
+            return ps;
+        }, handler);
+    }
+
+    /**
+     * Semua NIK peserta satu event; cukup dari index uq_event_warga (event_id, warga_nik).
+     */
+    /**
+     * Counter participant_count event (0 jika event tidak ada), tanpa COUNT ke event_participant.
+     */
+    public int participantCount(UUID eventId) {
+        List<Integer> counts = jdbcTemplate.queryForList(SELECT_PARTICIPANT_COUNT, Integer.class, eventId);
+        return counts.isEmpty() ? 0 : counts.get(0);
+    }
+
+    public void forEachNik(UUID eventId, Consumer<String> action) {
+        jdbcTemplate.query(SELECT_NIK_BY_EVENT, (RowCallbackHandler) rs -> action.accept(rs.getString(1)), eventId);
+    }
+
+    /**
+     * Seek pagination peserta: event_id = ? AND id > afterId ORDER BY id, dilayani
+     * idx_event_participant_event_id (event_id, id). Prefix NIK diubah menjadi range
+     * karena NIK selalu 16 digit, sehingga tidak bergantung pada collation untuk LIKE.
+     */
+    public List<ParticipantResponse> findPage(UUID eventId, UUID afterId, String nikPrefix, int limit) {
+        StringBuilder sql = new StringBuilder("select id, warga_nik from event_participant where event_id = ?");
+        List<Object> args = new ArrayList<>();
+        args.add(eventId);
+        if (afterId != null) {
+            sql.append(" and id > ?");
+            args.add(afterId);
+        }
+        if (nikPrefix != null && !nikPrefix.isBlank()) {
+            int pad = NIK_LENGTH - nikPrefix.length();
+            sql.append(" and warga_nik between ? and ?");
+            args.add(nikPrefix + "0".repeat(pad));
+            args.add(nikPrefix + "9".repeat(pad));
+        }
+        sql.append(" order by id limit ?");
+        args.add(limit);
+
+        String event = eventId.toString();
+        return jdbcTemplate.query(sql.toString(),
+                (rs, rowNum) -> new ParticipantResponse(rs.getString(1), event, rs.getString(2)),
+                args.toArray());
+    }
+}
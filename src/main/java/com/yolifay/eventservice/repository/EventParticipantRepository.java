@@ -1,15 +1,19 @@
 package com.yolifay.eventservice.repository;
 
-import com.yolifay.eventservice.entity.Event;
 import com.yolifay.eventservice.entity.EventParticipant;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
+import java.util.Collection;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
 public interface EventParticipantRepository extends JpaRepository<EventParticipant, UUID> {
-    List<EventParticipant> findByEvent(Event event);
     boolean existsByEventIdAndWargaNik(UUID eventId, String wargaNik);
+
+    @Query("select p.wargaNik from EventParticipant p where p.event.id = :eventId and p.wargaNik in :niks")
+    Set<String> findRegisteredNiks(@Param("eventId") UUID eventId, @Param("niks") Collection<String> niks);
 }
@@ -0,0 +1,68 @@
+package com.yolifay.eventservice.repository;
+
+import com.yolifay.eventservice.dto.EventField;
+import com.yolifay.eventservice.entity.Event;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Listing event sebagai DTO projection: SELECT hanya kolom yang diminta langsung ke DTO (EventResponse atau
+ * PartialEventResponse, keduanya punya constructor dengan urutan EventField),
+ * tanpa entity Event sehingga tidak ada yang masuk persistence context atau di-dirty-check.
+ */
+@Repository
+public class EventProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Specification boleh mengatur ORDER BY sendiri (mis. urutan relevansi); sort hanya dipakai jika sorted.
+     */
+    public <T> List<T> findAll(Specification<Event> spec, Sort sort, Set<EventField> fields, Class<T> type,
+                               int offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(type);
+        Root<Event> root = query.from(Event.class);
+        query.select(cb.construct(type, selections(root, cb, fields)));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) query.where(predicate);
+        if (sort.isSorted()) query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public long count(Specification<Event> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Event> root = query.from(Event.class);
+        query.select(cb.count(root));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) query.where(predicate);
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    // Field yang tidak dipilih diganti literal null bertipe sama agar constructor DTO tetap cocok
+    private static Selection<?>[] selections(Root<Event> root, CriteriaBuilder cb, Set<EventField> fields) {
+        EventField[] all = EventField.values();
+        Selection<?>[] selections = new Selection<?>[all.length];
+        for (int i = 0; i < all.length; i++) {
+            EventField f = all[i];
+            selections[i] = fields.contains(f) ? root.get(f.getAttribute()) : cb.nullLiteral(f.getType());
+        }
+        return selections;
+    }
+}
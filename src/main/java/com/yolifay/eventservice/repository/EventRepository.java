@@ -1,12 +1,48 @@
 package com.yolifay.eventservice.repository;
 
+import com.yolifay.eventservice.dto.EventAvailabilityResponse;
 import com.yolifay.eventservice.entity.Event;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, UUID>, JpaSpecificationExecutor<Event> {
+
+    /**
+     * Reserve satu kursi secara atomik dengan satu UPDATE bersyarat.
+     * Return 1 jika kursi didapat, 0 jika kuota sudah penuh (atau event tidak ada).
+     */
+    @Modifying
+    @Query("update Event e set e.participantCount = e.participantCount + 1 " +
+            "where e.id = :eventId and e.participantCount < e.quota")
+    int reserveSeat(@Param("eventId") UUID eventId);
+
+    /**
+     * Lock baris event (SELECT ... FOR UPDATE) untuk admission kuota satu batch sekaligus.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from Event e where e.id = :eventId")
+    Optional<Event> findByIdForUpdate(@Param("eventId") UUID eventId);
+
+    @Modifying
+    @Query("update Event e set e.participantCount = e.participantCount + :seats where e.id = :eventId")
+    int addParticipants(@Param("eventId") UUID eventId, @Param("seats") int seats);
+
+    /**
+     * Kuota dan jumlah peserta banyak event sekaligus, dari counter participant_count (tanpa COUNT ke event_participant).
+     */
+    @Query("select new com.yolifay.eventservice.dto.EventAvailabilityResponse(e.id, e.quota, e.participantCount) " +
+            "from Event e where e.id in :eventIds")
+    List<EventAvailabilityResponse> findAvailability(@Param("eventIds") Collection<UUID> eventIds);
 }
@@ -0,0 +1,42 @@
+package com.yolifay.eventservice.repository;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Fungsi HQL/Criteria untuk full-text search event. Ekspresi dokumen harus identik dengan
+ * index idx_event_search (initdb/004_event_search.sql) supaya planner memakai index GIN tersebut.
+ * Didaftarkan lewat META-INF/services/org.hibernate.boot.model.FunctionContributor.
+ */
+public class EventSearchFunctions implements FunctionContributor {
+
+    public static final String MATCH = "event_search_match";
+    public static final String RANK = "event_search_rank";
+
+    /** Ekspresi dokumen dalam SQL native, untuk query JDBC */
+    public static final String DOCUMENT_SQL = document("title", "location", "description");
+
+    // ?1 title, ?2 location, ?3 description
+    private static final String DOCUMENT_PATTERN = document("?1", "?2", "?3");
+
+    private static String document(String title, String location, String description) {
+        return "(setweight(to_tsvector('simple', coalesce(" + title + ", '')), 'A')"
+                + " || setweight(to_tsvector('simple', coalesce(" + location + ", '')), 'B')"
+                + " || setweight(to_tsvector('simple', coalesce(" + description + ", '')), 'C'))";
+    }
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        var registry = functionContributions.getFunctionRegistry();
+        var types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+
+        // ?4 tsquery (lihat EventSearchTerm)
+        registry.registerPattern(MATCH,
+                DOCUMENT_PATTERN + " @@ to_tsquery('simple', ?4)",
+                types.resolve(StandardBasicTypes.BOOLEAN));
+        registry.registerPattern(RANK,
+                "ts_rank(" + DOCUMENT_PATTERN + ", to_tsquery('simple', ?4))",
+                types.resolve(StandardBasicTypes.DOUBLE));
+    }
+}
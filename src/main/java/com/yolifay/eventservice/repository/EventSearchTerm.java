@@ -0,0 +1,47 @@
+package com.yolifay.eventservice.repository;
+
+import java.util.Arrays;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Hasil parsing parameter q pada listing event.
+ * Query normal menjadi tsquery prefix (mis. "kerja bak" -> "kerja:* & bak:*");
+ * query sangat pendek hanya dicocokkan sebagai prefix judul agar tidak memindai seluruh index GIN.
+ */
+public record EventSearchTerm(
+        String tsQuery,             // terisi untuk full-text search
+        String titlePrefixPattern   // terisi untuk query pendek, pola LIKE dengan escape '\'
+) {
+    public static final int MIN_FULL_TEXT_LENGTH = 3;
+    public static final char LIKE_ESCAPE = '\\';
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /**
+     * Return null jika q kosong (tanpa filter).
+     */
+    public static EventSearchTerm parse(String q) {
+        if (q == null || q.isBlank()) return null;
+        String normalized = q.trim().toLowerCase();
+
+        // Token hanya huruf/angka, jadi aman dari sintaks tsquery
+        String tsQuery = Arrays.stream(NON_WORD.split(normalized))
+                .filter(t -> !t.isEmpty())
+                .map(t -> t + ":*")
+                .collect(Collectors.joining(" & "));
+
+        if (normalized.length() < MIN_FULL_TEXT_LENGTH || tsQuery.isEmpty()) {
+            return new EventSearchTerm(null, escapeLike(normalized) + "%");
+        }
+        return new EventSearchTerm(tsQuery, null);
+    }
+
+    public boolean fullText() {
+        return tsQuery != null;
+    }
+
+    private static String escapeLike(String s) {
+        return s.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
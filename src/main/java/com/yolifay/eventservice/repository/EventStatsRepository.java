@@ -0,0 +1,68 @@
+package com.yolifay.eventservice.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Estimasi jumlah baris event dari statistik planner PostgreSQL, pengganti COUNT(*) exact.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class EventStatsRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Filter harus sama dengan yang dipakai EventService.listEvents.
+     */
+    public long estimateCount(String q, LocalDateTime from, LocalDateTime to) {
+        StringBuilder where = new StringBuilder();
+        List<Object> args = new ArrayList<>();
+        EventSearchTerm search = EventSearchTerm.parse(q);
+        if (search != null && search.fullText()) {
+            where.append(" and ").append(EventSearchFunctions.DOCUMENT_SQL).append(" @@ to_tsquery('simple', ?)");
+            args.add(search.tsQuery());
+        } else if (search != null) {
+            where.append(" and lower(title) like ? escape '\\'");
+            args.add(search.titlePrefixPattern());
+        }
+        if (from != null) {
+            where.append(" and start_time >= ?");
+            args.add(from);
+        }
+        if (to != null) {
+            where.append(" and start_time <= ?");
+            args.add(to);
+        }
+
+        if (args.isEmpty()) {
+            Long rows = jdbcTemplate.queryForObject(
+                    "select reltuples::bigint from pg_class where oid = 'public.event'::regclass", Long.class);
+            // reltuples = -1 jika tabel belum pernah di-ANALYZE
+            return rows == null ? 0 : Math.max(rows, 0);
+        }
+
+        String plan = jdbcTemplate.queryForObject(
+                "explain (format json) select 1 from public.event where true" + where, String.class, args.toArray());
+        return planRows(plan);
+    }
+
+    private long planRows(String plan) {
+        try {
+            return objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows").asLong(0);
+        } catch (JsonProcessingException e) {
+            log.warn("Gagal membaca hasil EXPLAIN: {}", e.getMessage());
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.yolifay.eventservice.repository;
+
+import com.yolifay.eventservice.entity.RegistrationRequest;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RegistrationRequestRepository extends JpaRepository<RegistrationRequest, UUID> {
+
+    /**
+     * Ambil antrean tertua untuk diproses. SKIP LOCKED membuat beberapa instance worker
+     * bisa berjalan bersamaan tanpa saling menunggu; tiket PROCESSING yang terlalu lama
+     * (worker mati di tengah jalan) diambil ulang.
+     */
+    @Query(value = "select * from registration_request " +
+            "where status = 'PENDING' or (status = 'PROCESSING' and claimed_at < :staleBefore) " +
+            "order by created_at limit :limit for update skip locked", nativeQuery = true)
+    List<RegistrationRequest> lockNextBatch(@Param("staleBefore") Instant staleBefore, @Param("limit") int limit);
+
+    /**
+     * Kunci tiket (urut id agar urutan lock sama antar worker) sebelum status akhir ditulis.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from RegistrationRequest r where r.id in :ids order by r.id")
+    List<RegistrationRequest> lockAllById(@Param("ids") Collection<UUID> ids);
+}
@@ -0,0 +1,9 @@
+package com.yolifay.eventservice.service;
+
+import com.yolifay.eventservice.dto.EventResponse;
+
+/**
+ * Snapshot event di EventCache beserta weak ETag-nya (diturunkan dari Event.updatedAt).
+ */
+public record CachedEvent(EventResponse event, String etag) {
+}
@@ -0,0 +1,81 @@
+package com.yolifay.eventservice.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Cache read-through event per UUID. Event yang tidak ada tidak di-cache.
+ * TTL membatasi umur data basi antar instance; di instance yang sama updateEvent langsung meng-invalidate.
+ */
+@Component
+public class EventCache {
+    private final AsyncCache<UUID, CachedEvent> cache;
+
+    public EventCache(@Value("${event.cache.maximum-size}") long maximumSize,
+                      @Value("${event.cache.ttl-ms}") long ttlMs,
+                      MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttlMs, TimeUnit.MILLISECONDS)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "event");
+    }
+
+    /**
+     * Loader dijalankan di thread pemanggil, di luar compute() cache (lihat IdentityClientFacade.lookup).
+     * Jika entry di-invalidate saat loader masih berjalan, hasilnya tidak masuk cache.
+     */
+    public Optional<CachedEvent> get(UUID eventId, Function<UUID, CachedEvent> loader) {
+        CompletableFuture<CachedEvent> created = new CompletableFuture<>();
+        CompletableFuture<CachedEvent> cached = cache.get(eventId, (key, cacheExecutor) -> created);
+        if (cached == created) {
+            try {
+                created.complete(loader.apply(eventId));   // null = event tidak ada, entry dibuang
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return Optional.ofNullable(cached.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+
+    /**
+     * Invalidate setelah transaksi commit, agar pembaca lain tidak sempat me-load ulang versi lama.
+     */
+    public void evictAfterCommit(UUID eventId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.synchronous().invalidate(eventId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.synchronous().invalidate(eventId);
+            }
+        });
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+}
@@ -0,0 +1,48 @@
+package com.yolifay.eventservice.service;
+
+import com.yolifay.eventservice.dto.pagination.CursorCodec;
+import com.yolifay.eventservice.entity.Event;
+import com.yolifay.eventservice.exception.BadRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Posisi keyset pada listing event: nilai sort key + id baris terakhir halaman sebelumnya.
+ */
+record EventCursor(String field, Sort.Direction direction, Object key, UUID id) {
+
+    static EventCursor after(Event e, String field, Sort.Direction direction) {
+        Object key = switch (field) {
+            case "title" -> e.getTitle();
+            case "quota" -> e.getQuota();
+            case "endTime" -> e.getEndTime();
+            default -> e.getStartTime();
+        };
+        return new EventCursor(field, direction, key, e.getId());
+    }
+
+    static EventCursor decode(String cursor) {
+        String[] parts = CursorCodec.decode(cursor, 4);
+        try {
+            String field = parts[0];
+            String raw = parts[3];
+            Object key = switch (field) {
+                case "title" -> raw;
+                case "quota" -> Integer.valueOf(raw);
+                case "startTime", "endTime" -> LocalDateTime.parse(raw);
+                default -> throw new BadRequestException("Cursor tidak valid");
+            };
+            return new EventCursor(field, Sort.Direction.fromString(parts[1]), key, UUID.fromString(parts[2]));
+        } catch (BadRequestException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Cursor tidak valid");
+        }
+    }
+
+    String encode() {
+        return CursorCodec.encode(field, direction.name(), id.toString(), key.toString());
+    }
+}
@@ -0,0 +1,230 @@
+package com.yolifay.eventservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.yolifay.eventservice.common.UuidV7;
+import com.yolifay.eventservice.dto.EventCreateRequest;
+import com.yolifay.eventservice.dto.EventImportError;
+import com.yolifay.eventservice.dto.EventImportResult;
+import com.yolifay.eventservice.dto.ImportFormat;
+import com.yolifay.eventservice.exception.BadRequestException;
+import com.yolifay.eventservice.repository.EventCopyRepository;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Import event massal (kalender program musiman) dari CSV atau NDJSON. Input dibaca per baris, divalidasi dengan
+ * aturan yang sama dengan POST /events, lalu baris valid langsung di-stream ke tabel event lewat COPY dalam
+ * satu transaksi. Baris tidak valid dilewati dan dilaporkan per nomor baris; memori tidak bergantung pada
+ * ukuran file (hanya daftar error yang disimpan, dibatasi max-errors).
+ * <p>
+ * CSV wajib punya header: title,startTime,endTime,location,quota,description (urutan bebas, waktu ISO-8601).
+ * NDJSON: satu objek EventCreateRequest per baris.
+ */
+@Slf4j
+@Service
+public class EventImportService {
+    private final EventCopyRepository eventCopyRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EventTimeIndex eventTimeIndex;
+    private final CsvMapper csvMapper = CsvMapper.builder()
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .enable(CsvParser.Feature.TRIM_SPACES)
+            .build();
+    private final int maxErrors;
+
+    public EventImportService(EventCopyRepository eventCopyRepo,
+                              TransactionTemplate transactionTemplate,
+                              ObjectMapper objectMapper,
+                              Validator validator,
+                              EventTimeIndex eventTimeIndex,
+                              @Value("${event.import.max-errors}") int maxErrors) {
+        this.eventCopyRepo = eventCopyRepo;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.eventTimeIndex = eventTimeIndex;
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Transaksi (dan satu koneksi) dipegang selama upload dibaca; COPY ikut di-rollback jika input rusak
+     * secara struktur (CSV tidak bisa di-parse) atau DB menolak salah satu baris.
+     */
+    public EventImportResult importEvents(InputStream in, ImportFormat format) {
+        log.info("Start import events as {}", format);
+
+        Tally tally = new Tally(maxErrors);
+        String createdAt = Instant.now().toString();
+        EventTimeIndex.Batch intervals = new EventTimeIndex.Batch();
+        long imported = transactionTemplate.execute(status -> {
+            long copied = eventCopyRepo.copyIn(writer -> {
+                RowHandler handler = (line, req) -> {
+                    String error = validate(req);
+                    if (error != null) {
+                        tally.reject(line, error);
+                        return;
+                    }
+                    UUID id = UuidV7.next();
+                    writeCopyRow(writer, id, req, createdAt);
+                    intervals.add(id, req.startTime(), req.endTime());
+                    tally.accepted++;
+                };
+                if (format == ImportFormat.CSV) {
+                    readCsv(in, handler, tally);
+                } else {
+                    readNdjson(in, handler, tally);
+                }
+            });
+            // Masuk index waktu setelah commit (tanpa reload penuh); gagal di sana tidak mengubah hasil import
+            eventTimeIndex.putAllAfterCommit(intervals);
+            return copied;
+        });
+
+        log.info("End import events: {} rows, {} imported, {} rejected", tally.rows, imported, tally.rejected);
+        return new EventImportResult(tally.rows, imported, tally.rejected, tally.errors, tally.rejected > tally.errors.size());
+    }
+
+    @FunctionalInterface
+    private interface RowHandler {
+        void accept(long line, EventCreateRequest req) throws IOException;
+    }
+
+    private static final class Tally {
+        final List<EventImportError> errors = new ArrayList<>();
+        final int maxErrors;
+        long rows;
+        long accepted;
+        long rejected;
+
+        Tally(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < maxErrors) errors.add(new EventImportError(line, message));
+        }
+    }
+
+    private void readNdjson(InputStream in, RowHandler handler, Tally tally) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        long line = 0;
+        for (String text = reader.readLine(); text != null; text = reader.readLine()) {
+            line++;
+            if (text.isBlank()) continue;
+            tally.rows++;
+            EventCreateRequest req;
+            try {
+                req = objectMapper.readValue(text, EventCreateRequest.class);
+            } catch (JsonProcessingException e) {
+                tally.reject(line, "JSON tidak valid: " + e.getOriginalMessage());
+                continue;
+            }
+            handler.accept(line, req);
+        }
+    }
+
+    // Record dibaca sebagai Map<String, String> agar nilai yang salah tipe jadi error per baris, bukan menghentikan parser.
+    // Nomor baris diambil dari posisi parser saat record dimulai: field berkutip bisa memuat beberapa baris.
+    private void readCsv(InputStream in, RowHandler handler, Tally tally) throws IOException {
+        CsvSchema schema = CsvSchema.emptySchema().withHeader();
+        try (MappingIterator<Map<String, String>> rows = csvMapper.readerForMapOf(String.class).with(schema).readValues(in)) {
+            while (rows.hasNextValue()) {
+                long line = rows.getCurrentLocation().getLineNr();
+                Map<String, String> row = rows.nextValue();
+                tally.rows++;
+                EventCreateRequest req;
+                try {
+                    req = objectMapper.convertValue(row, EventCreateRequest.class);
+                } catch (IllegalArgumentException e) {
+                    tally.reject(line, "Nilai tidak valid: " + rootMessage(e));
+                    continue;
+                }
+                handler.accept(line, req);
+            }
+        } catch (JsonProcessingException e) {
+            // Hanya error parser: CSV rusak secara struktur (mis. tanda kutip tidak ditutup), sisa file tidak bisa
+            // dibaca dengan aman. Error validasi atau COPY tidak melewati catch ini.
+            String at = e.getLocation() != null ? " di baris " + e.getLocation().getLineNr() : "";
+            throw new BadRequestException("CSV tidak dapat dibaca" + at + ": " + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * Aturan yang sama dengan createEvent: constraint EventCreateRequest dan endTime setelah startTime.
+     */
+    private String validate(EventCreateRequest req) {
+        if (req == null) return "Baris kosong";
+        var violations = validator.validate(req);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        if (!req.endTime().isAfter(req.startTime())) {
+            return "endTime harus setelah startTime";
+        }
+        if (hasNul(req.title()) || hasNul(req.location()) || hasNul(req.description())) {
+            return "Teks tidak boleh mengandung karakter NUL";   // ditolak PostgreSQL dan akan menggagalkan seluruh COPY
+        }
+        return null;
+    }
+
+    private static boolean hasNul(String s) {
+        return s != null && s.indexOf('\0') >= 0;
+    }
+
+    // Urutan kolom sama dengan EventCopyRepository.COPY_EVENT
+    private static void writeCopyRow(Writer w, UUID id, EventCreateRequest req, String createdAt) throws IOException {
+        w.write(id.toString());
+        w.write(',');
+        writeText(w, req.title());
+        w.write(',');
+        w.write(req.startTime().toString());
+        w.write(',');
+        w.write(req.endTime().toString());
+        w.write(',');
+        writeText(w, req.location());
+        w.write(',');
+        w.write(req.quota().toString());
+        w.write(',');
+        writeText(w, req.description());
+        w.write(",0,");
+        w.write(createdAt);
+        w.write('\n');
+    }
+
+    // Selalu dikutip agar string kosong tetap '' (bukan NULL); null ditulis sebagai field kosong tanpa kutip
+    private static void writeText(Writer w, String value) throws IOException {
+        if (value == null) return;
+        w.write('"');
+        w.write(value.replace("\"", "\"\""));
+        w.write('"');
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) root = root.getCause();
+        return root.getMessage();
+    }
+}
@@ -0,0 +1,194 @@
+package com.yolifay.eventservice.service;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * Snapshot immutable interval (startTime, endTime) seluruh event, terurut menurut start.
+ * Array terurut dipakai sebagai interval tree implisit: node untuk rentang [lo, hi) adalah indeks tengahnya,
+ * dan maxEnd[node] menyimpan end terbesar di subtree tersebut. Query overlap cukup O(log n + k) dan
+ * hasilnya keluar terurut menurut start.
+ * <p>
+ * Waktu disimpan sebagai mikrodetik epoch dari LocalDateTime (UTC sebagai acuan saja, tanpa konversi zona),
+ * id sebagai dua long agar 1 juta event tidak menjadi 1 juta objek UUID.
+ */
+final class EventIntervals {
+    static final EventIntervals EMPTY = new Builder(0).build();
+
+    private final int size;
+    private final long[] start;
+    private final long[] end;
+    private final long[] idHigh;
+    private final long[] idLow;
+    private final long[] maxEnd;
+
+    private EventIntervals(int size, long[] start, long[] end, long[] idHigh, long[] idLow) {
+        this.size = size;
+        this.start = start;
+        this.end = end;
+        this.idHigh = idHigh;
+        this.idLow = idLow;
+        this.maxEnd = new long[size];
+        buildMaxEnd(0, size);
+    }
+
+    int size() {
+        return size;
+    }
+
+    UUID id(int i) {
+        return new UUID(idHigh[i], idLow[i]);
+    }
+
+    long start(int i) {
+        return start[i];
+    }
+
+    long end(int i) {
+        return end[i];
+    }
+
+    private long buildMaxEnd(int lo, int hi) {
+        if (lo >= hi) return Long.MIN_VALUE;
+        int mid = (lo + hi) >>> 1;
+        long max = Math.max(end[mid], Math.max(buildMaxEnd(lo, mid), buildMaxEnd(mid + 1, hi)));
+        maxEnd[mid] = max;
+        return max;
+    }
+
+    /**
+     * Event yang berjalan di window [from, to): start < to dan end > from. Berhenti jika visitor return false.
+     */
+    void overlapping(long from, long to, Visitor visitor) {
+        int limit = lowerBound(to);   // hanya indeks dengan start < to
+        overlapping(0, size, limit, from, visitor);
+    }
+
+    // Menelusuri bentuk tree yang sama dengan buildMaxEnd ([0, size)); indeks >= limit dipangkas
+    private boolean overlapping(int lo, int hi, int limit, long from, Visitor visitor) {
+        if (lo >= hi || lo >= limit) return true;
+        int mid = (lo + hi) >>> 1;
+        if (maxEnd[mid] <= from) return true;   // tidak ada interval di subtree ini yang melewati from
+        if (!overlapping(lo, mid, limit, from, visitor)) return false;
+        if (mid >= limit) return true;
+        if (end[mid] > from && !visitor.visit(this, mid)) return false;
+        return overlapping(mid + 1, hi, limit, from, visitor);
+    }
+
+    /**
+     * Event yang mulai di [from, to), terurut menurut start.
+     */
+    void startingBetween(long from, long to, Visitor visitor) {
+        for (int i = lowerBound(from), hi = lowerBound(to); i < hi; i++) {
+            if (!visitor.visit(this, i)) return;
+        }
+    }
+
+    // indeks pertama dengan start >= key
+    private int lowerBound(long key) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (start[mid] < key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Snapshot baru: entry snapshot ini kecuali yang id-nya cocok dengan skip, digabung dengan entry builder (urutan bebas).
+     */
+    EventIntervals merge(Builder changes, Predicate<UUID> skip) {
+        EventIntervals added = changes.build();
+        Builder out = new Builder(size + added.size);
+        int a = 0;
+        int b = 0;
+        while (a < size || b < added.size) {
+            if (a < size && skip.test(id(a))) {
+                a++;
+            } else if (b >= added.size || (a < size && start[a] <= added.start[b])) {
+                out.add(idHigh[a], idLow[a], start[a], end[a]);
+                a++;
+            } else {
+                out.add(added.idHigh[b], added.idLow[b], added.start[b], added.end[b]);
+                b++;
+            }
+        }
+        return out.build();
+    }
+
+    @FunctionalInterface
+    interface Visitor {
+        boolean visit(EventIntervals intervals, int index);
+    }
+
+    /**
+     * Mengumpulkan entry; jika tidak ditambahkan terurut menurut start, build() mengurutkannya.
+     */
+    static final class Builder {
+        private int size;
+        private long[] start;
+        private long[] end;
+        private long[] idHigh;
+        private long[] idLow;
+        private boolean sorted = true;
+
+        Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 16);
+            start = new long[capacity];
+            end = new long[capacity];
+            idHigh = new long[capacity];
+            idLow = new long[capacity];
+        }
+
+        Builder add(UUID id, long startSec, long endSec) {
+            return add(id.getMostSignificantBits(), id.getLeastSignificantBits(), startSec, endSec);
+        }
+
+        private Builder add(long high, long low, long startSec, long endSec) {
+            if (size == start.length) grow();
+            if (size > 0 && startSec < start[size - 1]) sorted = false;
+            start[size] = startSec;
+            end[size] = endSec;
+            idHigh[size] = high;
+            idLow[size] = low;
+            size++;
+            return this;
+        }
+
+        private void grow() {
+            int capacity = start.length + (start.length >> 1);
+            start = Arrays.copyOf(start, capacity);
+            end = Arrays.copyOf(end, capacity);
+            idHigh = Arrays.copyOf(idHigh, capacity);
+            idLow = Arrays.copyOf(idLow, capacity);
+        }
+
+        EventIntervals build() {
+            if (!sorted) sortByStart();
+            return new EventIntervals(size, Arrays.copyOf(start, size), Arrays.copyOf(end, size),
+                    Arrays.copyOf(idHigh, size), Arrays.copyOf(idLow, size));
+        }
+
+        private void sortByStart() {
+            int[] order = IntStream.range(0, size).boxed()
+                    .sorted((x, y) -> Long.compare(start[x], start[y]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            start = permute(start, order);
+            end = permute(end, order);
+            idHigh = permute(idHigh, order);
+            idLow = permute(idLow, order);
+            sorted = true;
+        }
+
+        private static long[] permute(long[] values, int[] order) {
+            long[] out = new long[values.length];
+            for (int i = 0; i < order.length; i++) out[i] = values[order[i]];
+            return out;
+        }
+    }
+}
@@ -1,45 +1,74 @@
 package com.yolifay.eventservice.service;
 
 import com.yolifay.eventservice.client.IdentityClientFacade;
+import com.yolifay.eventservice.common.UuidV7;
 import com.yolifay.eventservice.dto.*;
 import com.yolifay.eventservice.dto.pagination.BasePaging;
+import com.yolifay.eventservice.dto.pagination.CursorCodec;
+import com.yolifay.eventservice.dto.pagination.CursorPageEnvelope;
 import com.yolifay.eventservice.dto.pagination.PageEnvelope;
 import com.yolifay.eventservice.dto.pagination.SortMeta;
 import com.yolifay.eventservice.entity.Event;
 import com.yolifay.eventservice.entity.EventParticipant;
+import com.yolifay.eventservice.exception.BadRequestException;
 import com.yolifay.eventservice.exception.ConflictException;
 import com.yolifay.eventservice.exception.DataNotFoundException;
+import com.yolifay.eventservice.repository.EventParticipantJdbcRepository;
+import com.yolifay.eventservice.repository.EventParticipantJdbcRepository.NewParticipant;
 import com.yolifay.eventservice.repository.EventParticipantRepository;
+import com.yolifay.eventservice.repository.EventProjectionRepository;
 import com.yolifay.eventservice.repository.EventRepository;
+import com.yolifay.eventservice.repository.EventSearchFunctions;
+import com.yolifay.eventservice.repository.EventSearchTerm;
+import com.yolifay.eventservice.repository.EventStatsRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class EventService {
     private final EventRepository eventRepo;
+    private final EventProjectionRepository eventProjectionRepo;
     private final EventParticipantRepository participantRepo;
+    private final EventParticipantJdbcRepository participantJdbcRepo;
     private final IdentityClientFacade identityClientFacade;
+    private final EventStatsRepository eventStatsRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final EventCache eventCache;
+    private final RegistrationMetrics registrationMetrics;
+    private final EventTimeIndex eventTimeIndex;
+    private final ParticipantNikFilter nikFilter;
 
     private static final String START_TIME = "startTime";
+    private static final String END_TIME = "endTime";
     private static final String TITLE = "title";
     private static final String LOCATION = "location";
+    private static final String QUOTA = "quota";
+    private static final String ID = "id";
+    private static final String DESCRIPTION = "description";
+    private static final String RELEVANCE = "relevance";
+    private static final String METRIC = "event.service";
+    private static final String UNIQUE_EVENT_WARGA = "uq_event_warga";
 
     // ----------------- Event ----------------
+    @Timed(value = METRIC, extraTags = {"operation", "createEvent"})
     @Transactional
     public EventResponse createEvent(EventCreateRequest req) {
         log.info("Start create event {}", req.title());
@@ -56,69 +85,234 @@ public class EventService {
                 .description(req.description())
                 .build();
         Event savedEvent = eventRepo.save(e);
+        eventTimeIndex.putAfterCommit(savedEvent);
 
         log.info("End create event {}", savedEvent.getTitle());
         return mapEventResponse(savedEvent);
     }
 
-    @Transactional(readOnly = true)
     public EventResponse getEventById(UUID eventId) {
+        return getCachedEvent(eventId).event();
+    }
+
+    /**
+     * Event dari EventCache beserta ETag-nya; DB hanya dibaca saat cache miss.
+     */
+    @Timed(value = METRIC, extraTags = {"operation", "getCachedEvent"})
+    public CachedEvent getCachedEvent(UUID eventId) {
         log.info("Start get event by id {}", eventId);
 
-        Event e = eventRepo.findById(eventId)
+        CachedEvent cached = findCachedEvent(eventId)
                 .orElseThrow(() -> new DataNotFoundException("Get Event dengan ID " + eventId + " tidak dapat ditemukan"));
 
         log.info("End get event by id {}", eventId);
-        return mapEventResponse(e);
+        return cached;
     }
 
+    // Dibaca dari primary (transaksi read-write): hasilnya di-cache, jangan ambil dari replica yang tertinggal
+    private Optional<CachedEvent> findCachedEvent(UUID eventId) {
+        return eventCache.get(eventId, id -> transactionTemplate.execute(status -> eventRepo.findById(id)
+                .map(e -> new CachedEvent(mapEventResponse(e), etagOf(e)))
+                .orElse(null)));
+    }
+
+    // Weak ETag: berubah setiap kali entity disimpan ulang (@UpdateTimestamp); weak karena nilai yang sama
+    // dipakai untuk representasi JSON, CBOR dan Smile (setara secara isi, beda byte)
+    private static String etagOf(Event e) {
+        Instant version = e.getUpdatedAt() != null ? e.getUpdatedAt() : e.getCreatedAt();
+        return "W/\"" + e.getId() + "-" + Long.toHexString(version.getEpochSecond()) + "."
+                + Integer.toHexString(version.getNano()) + "\"";
+    }
+
+    /**
+     * Listing dengan DTO projection: hanya kolom di fields yang di-SELECT (mis. tanpa description untuk
+     * kartu katalog), dan tidak ada entity yang masuk persistence context.
+     */
+    @Timed(value = METRIC, extraTags = {"operation", "listEvents"})
     @Transactional(readOnly = true)
-    public PageEnvelope<EventResponse> listEvents(BasePaging paging, LocalDateTime from, LocalDateTime to) {
+    public PageEnvelope<?> listEvents(BasePaging paging, LocalDateTime from, LocalDateTime to, Set<EventField> fields) {
         log.info("Start list events");
 
-        // Normalize sort and direction
-        String sortField = normalizeSortField(paging.sortField());
-        Sort.Direction sortDir = normalizeSortDir(paging.sortDirection());
+        EventSearchTerm search = EventSearchTerm.parse(paging.q());
+        Specification<Event> filter = filterSpec(search, from, to);
+
+        // Hasil full-text search diurutkan berdasarkan relevansi, kecuali client meminta sort field tertentu
+        Specification<Event> spec = filter;
+        Sort sort;
+        SortMeta meta;
+        if (search != null && search.fullText() && !isExplicitSortField(paging.sortField())) {
+            spec = spec.and(relevanceOrder(search));
+            sort = Sort.unsorted();
+            meta = new SortMeta(RELEVANCE, "desc");
+            log.debug("[paging] pageIndex={} perpage={} sortField={}", paging.pageIndex(), paging.perpage(), RELEVANCE);
+        } else {
+            // Normalize sort and direction
+            String sortField = normalizeSortField(paging.sortField());
+            Sort.Direction sortDir = normalizeSortDir(paging.sortDirection());
+            sort = Sort.by(sortDir, sortField);
+            meta = new SortMeta(sortField, sortDir.name().toLowerCase());
+            log.debug("[paging] pageIndex={} perpage={} sortField={} dir={}", paging.pageIndex(), paging.perpage(), sortField, sortDir);
+        }
+
+        // Execute query
+        int offset = paging.pageIndex() * paging.perpage();
+        // Semua field: EventResponse seperti endpoint lain; subset: PartialEventResponse tanpa field yang tidak dipilih
+        Class<?> type = fields.containsAll(EnumSet.allOf(EventField.class)) ? EventResponse.class : PartialEventResponse.class;
+        List<?> content = eventProjectionRepo.findAll(spec, sort, fields, type, offset, paging.perpage());
+
+        // Seperti PageableExecutionUtils Spring Data: COUNT dilewati jika total sudah bisa diturunkan dari halaman
+        // ini, yaitu halaman yang tidak penuh (kecuali halaman kosong setelah halaman pertama)
+        long total = (offset == 0 || !content.isEmpty()) && content.size() < paging.perpage()
+                ? offset + content.size()
+                : eventProjectionRepo.count(filter);
+
+        return PageEnvelope.of(paging, total, content, meta);
+    }
+
+    /**
+     * Keyset pagination: halaman berikutnya dibaca dengan seek predicate (sortKey, id) > cursor,
+     * tanpa OFFSET dan tanpa COUNT. Total hanya berupa estimasi planner jika diminta.
+     */
+    @Timed(value = METRIC, extraTags = {"operation", "listEventsByCursor"})
+    @Transactional(readOnly = true)
+    public CursorPageEnvelope<EventResponse> listEventsByCursor(BasePaging paging, String cursor, LocalDateTime from,
+                                                                LocalDateTime to, boolean estimateTotal) {
+        log.info("Start list events by cursor");
+
+        // Sort diambil dari cursor agar posisi tetap konsisten antar halaman
+        EventCursor position = (cursor == null || cursor.isBlank()) ? null : EventCursor.decode(cursor);
+        String sortField = position != null ? position.field() : normalizeSortField(paging.sortField());
+        Sort.Direction sortDir = position != null ? position.direction() : normalizeSortDir(paging.sortDirection());
+        if (LOCATION.equals(sortField)) {
+            throw new BadRequestException("sortField location tidak didukung pada mode cursor");
+        }
 
-        Pageable pageable = PageRequest.of(paging.pageIndex(), paging.perpage(), Sort.by(sortDir, sortField));
-        log.info("[paging] pageIndex={} perpage={} sortField={} dir={}", paging.pageIndex(), paging.perpage(), sortField, sortDir);
+        Specification<Event> spec = filterSpec(EventSearchTerm.parse(paging.q()), from, to);
+        if (position != null) {
+            spec = spec.and(seekSpec(position));
+        }
+        Sort sort = Sort.by(sortDir, sortField).and(Sort.by(sortDir, ID));
+        int size = paging.perpage();
+
+        // Ambil satu baris lebih untuk tahu apakah masih ada halaman berikutnya
+        List<Event> rows = eventRepo.findBy(spec, q -> q.sortBy(sort).limit(size + 1).all());
+        boolean hasNext = rows.size() > size;
+        List<Event> pageRows = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = hasNext
+                ? EventCursor.after(pageRows.get(size - 1), sortField, sortDir).encode()
+                : null;
+        Long total = estimateTotal ? eventStatsRepo.estimateCount(paging.q(), from, to) : null;
+        List<EventResponse> content = pageRows.stream()
+                .map(EventService::mapEventResponse)
+                .toList();
+
+        SortMeta meta = new SortMeta(sortField, sortDir.name().toLowerCase());
+        return CursorPageEnvelope.of(paging, content, nextCursor, total, meta);
+    }
+
+    /**
+     * Event yang berjalan (match=OVERLAP: startTime < to dan endTime > from) atau mulai (match=START) di window
+     * [from, to), terurut startTime. Id dicari di EventTimeIndex; selama index belum ter-load, query ke DB.
+     */
+    @Timed(value = METRIC, extraTags = {"operation", "listEventsInWindow"})
+    @Transactional(readOnly = true)
+    public List<EventResponse> listEventsInWindow(LocalDateTime from, LocalDateTime to, TimeWindowMatch match,
+                                                  BasePaging paging) {
+        log.info("Start list events in window {} - {} ({})", from, to, match);
+
+        if (!to.isAfter(from)) {
+            throw new BadRequestException("Parameter to harus setelah from");
+        }
+        int limit = paging.perpage();
+
+        List<Event> rows;
+        if (eventTimeIndex.isReady()) {
+            List<UUID> ids = match == TimeWindowMatch.OVERLAP
+                    ? eventTimeIndex.overlapping(from, to, limit)
+                    : eventTimeIndex.startingBetween(from, to, limit);
+            // findAllById tidak menjaga urutan; event yang baru dibuat bisa belum terlihat di replica
+            Map<UUID, Event> byId = new HashMap<>();
+            eventRepo.findAllById(ids).forEach(e -> byId.put(e.getId(), e));
+            rows = ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+        } else {
+            rows = eventRepo.findBy(windowSpec(from, to, match),
+                    q -> q.sortBy(Sort.by(START_TIME, ID)).limit(limit).all());
+        }
 
-        // Build specification
-        Specification<Event> spec = ((root, query, criteriaBuilder) -> {
+        log.info("End list events in window, {} events", rows.size());
+        return rows.stream().map(EventService::mapEventResponse).toList();
+    }
+
+    private static Specification<Event> windowSpec(LocalDateTime from, LocalDateTime to, TimeWindowMatch match) {
+        return (root, query, cb) -> match == TimeWindowMatch.OVERLAP
+                ? cb.and(cb.lessThan(root.get(START_TIME), to), cb.greaterThan(root.get(END_TIME), from))
+                : cb.and(cb.greaterThanOrEqualTo(root.get(START_TIME), from), cb.lessThan(root.get(START_TIME), to));
+    }
+
+    private Specification<Event> filterSpec(EventSearchTerm search, LocalDateTime from, LocalDateTime to) {
+        return (root, query, criteriaBuilder) -> {
             List<Predicate> filters = new ArrayList<>();
-            if (paging.q() != null && !paging.q().isBlank()) {
-                String likePattern = "%" + paging.q().trim().toLowerCase() + "%";
-                filters.add(criteriaBuilder.or(
-                        criteriaBuilder.like(criteriaBuilder.lower(root.get(TITLE)), likePattern),
-                        criteriaBuilder.like(criteriaBuilder.lower(root.get(LOCATION)), likePattern),
-                        criteriaBuilder.like(criteriaBuilder.lower(root.get("description")), likePattern)
-                ));
-                log.info("[filter] q='{}' on [title,location,description] (LOWER LIKE)", paging.q().trim());
+            if (search != null && search.fullText()) {
+                filters.add(criteriaBuilder.isTrue(criteriaBuilder.function(EventSearchFunctions.MATCH, Boolean.class,
+                        root.get(TITLE), root.get(LOCATION), root.get(DESCRIPTION),
+                        criteriaBuilder.literal(search.tsQuery()))));
+                log.debug("[filter] q='{}' on [title,location,description] (full-text)", search.tsQuery());
+            } else if (search != null) {
+                filters.add(criteriaBuilder.like(criteriaBuilder.lower(root.get(TITLE)),
+                        search.titlePrefixPattern(), EventSearchTerm.LIKE_ESCAPE));
+                log.debug("[filter] q='{}' on [title] (short query, prefix)", search.titlePrefixPattern());
             }
 
             // Filter by startTime range
             if (from != null) {
                 filters.add(criteriaBuilder.greaterThanOrEqualTo(root.get(START_TIME), from));
-                log.info("[filter] from={}", from);
+                log.debug("[filter] from={}", from);
             }
             if (to != null) {
                 filters.add(criteriaBuilder.lessThanOrEqualTo(root.get(START_TIME), to));
-                log.info("[filter] to={}", to);
+                log.debug("[filter] to={}", to);
             }
             if (filters.isEmpty()) return criteriaBuilder.conjunction();
             return criteriaBuilder.and(filters.toArray(new Predicate[0]));
-        });
+        };
+    }
 
-        // Execute query
-        Page<Event> page = eventRepo.findAll(spec, pageable);
-        List<EventResponse> content = page.getContent().stream()
-                .map(EventService::mapEventResponse)
-                .toList();
+    private static Specification<Event> relevanceOrder(EventSearchTerm search) {
+        return (root, query, cb) -> {
+            // Query count tidak perlu ORDER BY
+            if (query.getResultType() != Long.class) {
+                query.orderBy(
+                        cb.desc(cb.function(EventSearchFunctions.RANK, Double.class,
+                                root.get(TITLE), root.get(LOCATION), root.get(DESCRIPTION),
+                                cb.literal(search.tsQuery()))),
+                        cb.desc(root.get(START_TIME)),
+                        cb.asc(root.get(ID)));
+            }
+            return null;
+        };
+    }
 
-        SortMeta meta = new SortMeta(sortField, sortDir.name().toLowerCase());
-        return PageEnvelope.of(paging, page.getTotalElements(), content, meta);
+    private static Specification<Event> seekSpec(EventCursor c) {
+        return (root, query, cb) -> switch (c.field()) {
+            case TITLE -> seek(cb, root.get(TITLE), (String) c.key(), root.get(ID), c);
+            case QUOTA -> seek(cb, root.get(QUOTA), (Integer) c.key(), root.get(ID), c);
+            default -> seek(cb, root.get(c.field()), (LocalDateTime) c.key(), root.get(ID), c);
+        };
+    }
+
+    // key >= v AND (key > v OR id > lastId): bentuk ini tetap bisa memakai index pada sort key (idx_event_start_time)
+    private static <Y extends Comparable<? super Y>> Predicate seek(CriteriaBuilder cb, Path<Y> key, Y value,
+                                                                    Path<UUID> id, EventCursor c) {
+        if (c.direction() == Sort.Direction.ASC) {
+            return cb.and(cb.greaterThanOrEqualTo(key, value),
+                    cb.or(cb.greaterThan(key, value), cb.greaterThan(id, c.id())));
+        }
+        return cb.and(cb.lessThanOrEqualTo(key, value),
+                cb.or(cb.lessThan(key, value), cb.lessThan(id, c.id())));
     }
 
+    @Timed(value = METRIC, extraTags = {"operation", "updateEvent"})
     @Transactional
     public EventResponse updateEvent(UUID eventId, EventUpdateRequest req) {
         log.info("Start update event {}", eventId);
@@ -138,66 +332,268 @@ public class EventService {
         e.setDescription(req.description());
 
         Event updatedEvent = eventRepo.save(e);
+        eventCache.evictAfterCommit(eventId);
+        eventTimeIndex.putAfterCommit(updatedEvent);
 
         log.info("End update event {}", eventId);
         return mapEventResponse(updatedEvent);
     }
 
-    // ----------------- Registration Participant ----------------
+    /**
+     * Sisa kursi untuk banyak event dengan satu query. Dibaca dari primary (transaksi read-write, bukan replica)
+     * agar registrasi yang sudah commit langsung terlihat. Id yang tidak ditemukan tidak ikut di response;
+     * urutan mengikuti request.
+     */
+    @Timed(value = METRIC, extraTags = {"operation", "getAvailability"})
     @Transactional
+    public List<EventAvailabilityResponse> getAvailability(List<UUID> eventIds) {
+        log.info("Start get availability for {} events", eventIds.size());
+
+        Map<String, EventAvailabilityResponse> byId = new HashMap<>();
+        for (EventAvailabilityResponse a : eventRepo.findAvailability(new LinkedHashSet<>(eventIds))) {
+            byId.put(a.eventId(), a);
+        }
+        List<EventAvailabilityResponse> response = eventIds.stream()
+                .distinct()
+                .map(id -> byId.get(id.toString()))
+                .filter(Objects::nonNull)
+                .toList();
+
+        log.info("End get availability, {} found", response.size());
+        return response;
+    }
+
+    // ----------------- Registration Participant ----------------
+    /**
+     * Verifikasi NIK dilakukan sebelum transaksi dibuka, sehingga koneksi Hikari tidak ditahan
+     * selama menunggu identity-service. Penting di mode virtual thread, di mana jumlah request
+     * bersamaan tidak lagi dibatasi thread Tomcat tetapi pool koneksi tetap 10.
+     * Koneksi yang dipakai findCachedEvent saat cache miss sudah dilepas saat transaksinya selesai
+     * karena spring.jpa.open-in-view=false; dengan open-in-view koneksi itu tertahan sampai request selesai.
+     */
+    @Timed(value = METRIC, extraTags = {"operation", "registerParticipant"})
     public ParticipantResponse registerParticipant(UUID eventId, RegisterParticipantRequest req) {
         log.info("Start register participant for event {}", eventId);
 
-        Event e = eventRepo.findById(eventId)
-                .orElseThrow(() -> new DataNotFoundException("Event dengan ID " + eventId + " tidak ditemukan"));
+        if (findCachedEvent(eventId).isEmpty()) {
+            throw new DataNotFoundException("Event dengan ID " + eventId + " tidak ditemukan");
+        }
 
         // Validate wargaNik exists in identity service
         if (!identityClientFacade.existsWargaByNik(req.wargaNik())) {
+            registrationMetrics.record(RegistrationStatus.UNKNOWN_NIK);
             throw new DataNotFoundException("Warga dengan NIK " + req.wargaNik() + " tidak ditemukan di identity service");
         }
 
-        if (participantRepo.existsByEventIdAndWargaNik(eventId, req.wargaNik())) {
-            throw new ConflictException("Warga dengan NIK " + req.wargaNik() + " sudah terdaftar pada event ini");
+        // Miss pasti di filter NIK: lewati query existsBy, unique constraint tetap menjaga duplikat
+        boolean maybeRegistered = nikFilter.mightBeRegistered(eventId, req.wargaNik());
+        ParticipantResponse response = transactionTemplate.execute(
+                status -> admitParticipant(eventId, req.wargaNik(), maybeRegistered));
+        nikFilter.registered(eventId, List.of(req.wargaNik()));
+        registrationMetrics.record(RegistrationStatus.REGISTERED);
+
+        log.info("End register participant for event {}", eventId);
+        return response;
+    }
+
+    private ParticipantResponse admitParticipant(UUID eventId, String wargaNik, boolean maybeRegistered) {
+        if (maybeRegistered && participantRepo.existsByEventIdAndWargaNik(eventId, wargaNik)) {
+            throw duplicate(wargaNik);
         }
 
-        long currentParticipants = participantRepo.findByEvent(e).size();
-        if (currentParticipants >= e.getQuota()) {
+        // Reserve kursi tanpa membaca baris peserta; row lock event hanya dipegang sampai commit
+        if (eventRepo.reserveSeat(eventId) == 0) {
+            registrationMetrics.record(RegistrationStatus.OVER_QUOTA);
             throw new IllegalStateException("Kuota event sudah penuh");
         }
 
         EventParticipant p = EventParticipant.builder()
-                .event(e)
-                .wargaNik(req.wargaNik())
+                .event(eventRepo.getReferenceById(eventId))
+                .wargaNik(wargaNik)
                 .build();
-        EventParticipant savedParticipant = participantRepo.save(p);
+        try {
+            // Flush di sini agar pelanggaran uq_event_warga (race, atau insert dari instance lain yang
+            // belum ada di filter) menjadi 409 dan kursi yang sudah di-reserve ikut di-rollback
+            return mapParticipantResponse(participantRepo.saveAndFlush(p));
+        } catch (DataIntegrityViolationException e) {
+            if (violates(e, UNIQUE_EVENT_WARGA)) throw duplicate(wargaNik);
+            throw e;
+        }
+    }
 
-        log.info("End register participant for event {}", eventId);
-        return mapParticipantResponse(savedParticipant);
+    // Nama constraint dari Hibernate (diekstrak dialect dari error PostgreSQL), bukan pencarian teks di pesan exception
+    private static boolean violates(DataIntegrityViolationException e, String constraintName) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ConstraintViolationException cve) {
+                return constraintName.equalsIgnoreCase(cve.getConstraintName());
+            }
+        }
+        return false;
+    }
+
+    private ConflictException duplicate(String wargaNik) {
+        registrationMetrics.record(RegistrationStatus.DUPLICATE);
+        return new ConflictException("Warga dengan NIK " + wargaNik + " sudah terdaftar pada event ini");
     }
 
+    /**
+     * Registrasi banyak peserta sekaligus. Verifikasi NIK dilakukan di luar transaksi,
+     * cek duplikat memakai satu query, kuota dicek sekali dengan lock baris event,
+     * dan insert dikirim sebagai JDBC batch. Hasil dikembalikan sesuai urutan request.
+     */
+    @Timed(value = METRIC, extraTags = {"operation", "registerParticipantsBatch"})
+    public List<BatchRegistrationResult> registerParticipantsBatch(UUID eventId, List<RegisterParticipantRequest> reqs) {
+        return registerParticipantsBatch(eventId, reqs, results -> { });
+    }
+
+    /**
+     * Sama seperti di atas; inTransaction dijalankan di transaksi yang sama dengan insert peserta
+     * (dipakai worker antrean registrasi untuk menyimpan status tiket secara atomik).
+     */
+    @Timed(value = METRIC, extraTags = {"operation", "registerParticipantsBatch"})
+    public List<BatchRegistrationResult> registerParticipantsBatch(UUID eventId, List<RegisterParticipantRequest> reqs,
+                                                                   Consumer<List<BatchRegistrationResult>> inTransaction) {
+        log.info("Start batch register {} participants for event {}", reqs.size(), eventId);
+
+        if (findCachedEvent(eventId).isEmpty()) {
+            throw new DataNotFoundException("Event dengan ID " + eventId + " tidak ditemukan");
+        }
+
+        Set<String> uniqueNiks = new LinkedHashSet<>();
+        reqs.forEach(r -> uniqueNiks.add(r.wargaNik()));
+
+        Map<String, Boolean> verified = identityClientFacade.existsWargaByNiks(uniqueNiks);
+        Map<String, BatchRegistrationResult> outcome = new HashMap<>();
+        List<String> candidates = new ArrayList<>();
+        for (String nik : uniqueNiks) {
+            if (Boolean.TRUE.equals(verified.get(nik))) {
+                candidates.add(nik);
+            } else {
+                outcome.put(nik, new BatchRegistrationResult(nik, RegistrationStatus.UNKNOWN_NIK, null));
+            }
+        }
+
+        // Hanya NIK yang mungkin terdaftar menurut filter yang dicek ke DB; insert tetap ON CONFLICT DO NOTHING
+        List<String> toCheck = candidates.isEmpty()
+                ? List.of()
+                : nikFilter.possiblyRegistered(eventId, candidates);
+        List<BatchRegistrationResult> response = transactionTemplate.execute(status -> {
+            if (!candidates.isEmpty()) {
+                admitBatch(eventId, candidates, toCheck, outcome);
+            }
+
+            // NIK yang muncul lagi di request yang sama dianggap duplikat
+            Set<String> seen = new HashSet<>();
+            List<BatchRegistrationResult> results = reqs.stream()
+                    .map(r -> seen.add(r.wargaNik())
+                            ? outcome.get(r.wargaNik())
+                            : new BatchRegistrationResult(r.wargaNik(), RegistrationStatus.DUPLICATE, null))
+                    .toList();
+            inTransaction.accept(results);
+            return results;
+        });
+        response.forEach(r -> registrationMetrics.record(r.status()));
+        nikFilter.registered(eventId, response.stream()
+                .filter(r -> r.status() == RegistrationStatus.REGISTERED)
+                .map(BatchRegistrationResult::wargaNik)
+                .toList());
+
+        log.info("End batch register participants for event {}", eventId);
+        return response;
+    }
+
+    private void admitBatch(UUID eventId, List<String> candidates, List<String> toCheck,
+                            Map<String, BatchRegistrationResult> outcome) {
+        Set<String> registered = toCheck.isEmpty() ? Set.of() : participantRepo.findRegisteredNiks(eventId, toCheck);
+        List<String> pending = new ArrayList<>(candidates.size());
+        for (String nik : candidates) {
+            if (registered.contains(nik)) {
+                outcome.put(nik, new BatchRegistrationResult(nik, RegistrationStatus.DUPLICATE, null));
+            } else {
+                pending.add(nik);
+            }
+        }
+
+        Event e = eventRepo.findByIdForUpdate(eventId)
+                .orElseThrow(() -> new DataNotFoundException("Event dengan ID " + eventId + " tidak ditemukan"));
+        int seats = Math.max(0, e.getQuota() - e.getParticipantCount());
+
+        // Ulangi selama masih ada kursi: baris yang kalah race (ON CONFLICT) tidak memakai kursi
+        int admitted = 0;
+        int next = 0;
+        while (seats > 0 && next < pending.size()) {
+            List<String> chunk = pending.subList(next, Math.min(next + seats, pending.size()));
+            next += chunk.size();
+
+            List<NewParticipant> rows = chunk.stream()
+                    .map(nik -> new NewParticipant(UuidV7.next(), nik))
+                    .toList();
+            int[] counts = participantJdbcRepo.insertIgnoringDuplicates(eventId, rows);
+            for (int i = 0; i < rows.size(); i++) {
+                NewParticipant row = rows.get(i);
+                if (counts[i] > 0) {
+                    outcome.put(row.wargaNik(), new BatchRegistrationResult(
+                            row.wargaNik(), RegistrationStatus.REGISTERED, row.id().toString()));
+                    admitted++;
+                    seats--;
+                } else {
+                    outcome.put(row.wargaNik(), new BatchRegistrationResult(row.wargaNik(), RegistrationStatus.DUPLICATE, null));
+                }
+            }
+        }
+        for (String nik : pending.subList(next, pending.size())) {
+            outcome.put(nik, new BatchRegistrationResult(nik, RegistrationStatus.OVER_QUOTA, null));
+        }
+
+        if (admitted > 0) {
+            eventRepo.addParticipants(eventId, admitted);
+        }
+    }
+
+    /**
+     * Listing peserta dengan seek pagination pada (event_id, id), opsional filter prefix NIK (paging.q).
+     * Response berupa CursorPageEnvelope, bukan PageEnvelope: seek tidak punya nomor halaman atau offset,
+     * sehingga page/from/to/totalPages tidak bisa diisi tanpa OFFSET.
+     */
+    @Timed(value = METRIC, extraTags = {"operation", "listParticipants"})
     @Transactional(readOnly = true)
-    public List<ParticipantResponse> listParticipants(UUID eventId) {
+    public CursorPageEnvelope<ParticipantResponse> listParticipants(UUID eventId, BasePaging paging, String cursor) {
         log.info("Start list participants for event {}", eventId);
 
         Event e = eventRepo.findById(eventId)
                 .orElseThrow(() -> new DataNotFoundException("Event dengan ID " + eventId + " tidak ditemukan"));
 
-        List<EventParticipant> participants = participantRepo.findByEvent(e);
-        List<ParticipantResponse> response = participants.stream()
-                .map(EventService::mapParticipantResponse)
-                .toList();
+        UUID after = (cursor == null || cursor.isBlank()) ? null : decodeParticipantCursor(cursor);
+        String nikPrefix = paging.q();
+        int size = paging.perpage();
+
+        List<ParticipantResponse> rows = participantJdbcRepo.findPage(eventId, after, nikPrefix, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<ParticipantResponse> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? CursorCodec.encode(content.get(size - 1).id()) : null;
+
+        // Tanpa filter, total pasti diambil dari counter participant_count (tanpa COUNT)
+        Long total = (nikPrefix == null || nikPrefix.isBlank()) ? Long.valueOf(e.getParticipantCount()) : null;
 
         log.info("End list participants for event {}", eventId);
-        return response;
+        return CursorPageEnvelope.of(paging, content, nextCursor, total, null, new SortMeta(ID, "asc"));
+    }
+
+    private static UUID decodeParticipantCursor(String cursor) {
+        try {
+            return UUID.fromString(CursorCodec.decode(cursor, 1)[0]);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Cursor tidak valid");
+        }
     }
 
-    private static EventResponse mapEventResponse(Event e){
+    static EventResponse mapEventResponse(Event e){
         return new EventResponse(
                 e.getId().toString(), e.getTitle(), e.getStartTime(), e.getEndTime(),
                 e.getLocation(), e.getQuota(), e.getDescription()
         );
     }
-    private static ParticipantResponse mapParticipantResponse(EventParticipant p){
+    static ParticipantResponse mapParticipantResponse(EventParticipant p){
         return new ParticipantResponse(
                 p.getId().toString(),
                 p.getEvent().getId().toString(),
@@ -211,10 +607,16 @@ public class EventService {
             case TITLE -> TITLE;
             case "endTime" -> "endTime";
             case LOCATION -> LOCATION;
-            case "quota" -> "quota";
+            case QUOTA -> QUOTA;
             default -> START_TIME;
         };
     }
+    private boolean isExplicitSortField(String f){
+        return f != null && switch (f){
+            case START_TIME, TITLE, "endTime", LOCATION, QUOTA -> true;
+            default -> false;
+        };
+    }
     private Sort.Direction normalizeSortDir(String d){
         return "asc".equalsIgnoreCase(d) ? Sort.Direction.ASC : Sort.Direction.DESC;
     }
@@ -0,0 +1,281 @@
+package com.yolifay.eventservice.service;
+
+import com.yolifay.eventservice.entity.Event;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Index in-memory waktu event untuk query window ("event apa yang berjalan di rentang ini") tanpa ke DB.
+ * <p>
+ * Terdiri dari snapshot immutable ({@link EventIntervals}) dan overlay kecil berisi event yang dibuat/diubah
+ * di instance ini sejak snapshot dibentuk. Overlay menang atas snapshot untuk id yang sama, dan digabung ke
+ * snapshot baru setelah melewati compact-threshold. Snapshot di-load ulang penuh dari DB secara berkala
+ * untuk menangkap perubahan dari instance lain; sebelum load pertama selesai {@link #isReady()} false.
+ */
+@Slf4j
+@Component
+public class EventTimeIndex {
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int compactThreshold;
+    private final Object writeLock = new Object();
+
+    private volatile State state = new State(EventIntervals.EMPTY, new ConcurrentHashMap<>());
+    private volatile boolean ready;
+    private long sequence;       // dijaga writeLock
+    private boolean reloading;   // dijaga writeLock
+
+    public EventTimeIndex(JdbcTemplate jdbcTemplate,
+                          TransactionTemplate transactionTemplate,
+                          @Value("${event.time-index.enabled}") boolean enabled,
+                          @Value("${event.time-index.compact-threshold}") int compactThreshold,
+                          MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.compactThreshold = compactThreshold;
+        Gauge.builder("event.time.index.size", this, i -> i.state.snapshot.size() + i.state.overlay.size())
+                .description("Jumlah event di index waktu (snapshot + overlay)")
+                .register(meterRegistry);
+    }
+
+    // overlay tidak pernah diganti instance-nya selama State hidup; hanya writer (di bawah writeLock) yang mengisi
+    private record State(EventIntervals snapshot, Map<UUID, Entry> overlay) {
+    }
+
+    private record Entry(UUID id, long start, long end, long seq) {
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Id event dengan startTime < to dan endTime > from, terurut menurut startTime, maksimal limit.
+     */
+    public List<UUID> overlapping(LocalDateTime from, LocalDateTime to, int limit) {
+        long f = toMicros(from);
+        long t = toMicros(to);
+        State s = state;
+        List<Hit> hits = new ArrayList<>(Math.min(limit, 64));
+        s.snapshot.overlapping(f, t, collector(s, hits, limit));
+        return withOverlay(s, hits, limit, e -> e.start < t && e.end > f);
+    }
+
+    /**
+     * Id event dengan from <= startTime < to, terurut menurut startTime, maksimal limit.
+     */
+    public List<UUID> startingBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        long f = toMicros(from);
+        long t = toMicros(to);
+        State s = state;
+        List<Hit> hits = new ArrayList<>(Math.min(limit, 64));
+        s.snapshot.startingBetween(f, t, collector(s, hits, limit));
+        return withOverlay(s, hits, limit, e -> e.start >= f && e.start < t);
+    }
+
+    private record Hit(UUID id, long start) {
+    }
+
+    // Entry snapshot yang sudah diganti overlay dilewati; snapshot terurut, jadi cukup ambil limit pertama
+    private static EventIntervals.Visitor collector(State s, List<Hit> hits, int limit) {
+        boolean noOverlay = s.overlay.isEmpty();
+        return (intervals, i) -> {
+            UUID id = intervals.id(i);
+            if (noOverlay || !s.overlay.containsKey(id)) hits.add(new Hit(id, intervals.start(i)));
+            return hits.size() < limit;
+        };
+    }
+
+    // Gabung hasil snapshot dengan entry overlay yang cocok; keduanya terurut start, ambil limit pertama
+    private static List<UUID> withOverlay(State s, List<Hit> hits, int limit, Predicate<Entry> match) {
+        List<Entry> extra = new ArrayList<>();
+        for (Entry e : s.overlay.values()) {
+            if (match.test(e)) extra.add(e);
+        }
+        extra.sort(Comparator.comparingLong(Entry::start));
+
+        List<UUID> ids = new ArrayList<>(Math.min(limit, hits.size() + extra.size()));
+        int a = 0;
+        int b = 0;
+        while (ids.size() < limit && (a < hits.size() || b < extra.size())) {
+            if (b >= extra.size() || (a < hits.size() && hits.get(a).start <= extra.get(b).start)) {
+                ids.add(hits.get(a++).id);
+            } else {
+                ids.add(extra.get(b++).id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Catat event setelah transaksi commit, agar rollback tidak meninggalkan interval yang tidak ada di DB.
+     */
+    public void putAfterCommit(Event e) {
+        if (!enabled) return;
+        UUID id = e.getId();
+        long start = toMicros(e.getStartTime());
+        long end = toMicros(e.getEndTime());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            put(id, start, end);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                put(id, start, end);
+            }
+        });
+    }
+
+    /**
+     * Kumpulan event untuk {@link #putAllAfterCommit(Batch)}.
+     */
+    public static final class Batch {
+        private final EventIntervals.Builder intervals = new EventIntervals.Builder(1024);
+        private int size;
+
+        public void add(UUID id, LocalDateTime startTime, LocalDateTime endTime) {
+            intervals.add(id, toMicros(startTime), toMicros(endTime));
+            size++;
+        }
+    }
+
+    /**
+     * Catat banyak event baru sekaligus setelah commit (import massal): satu merge ke snapshot, bukan compact
+     * per entry. Gagal di sini hanya dicatat di log; event tetap muncul setelah reload terjadwal berikutnya.
+     */
+    public void putAllAfterCommit(Batch batch) {
+        if (!enabled || batch.size == 0) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    putAll(batch);
+                } catch (RuntimeException e) {
+                    log.warn("Gagal menambahkan {} event ke index waktu, menunggu reload berikutnya", batch.size, e);
+                }
+            }
+        });
+    }
+
+    private void putAll(Batch batch) {
+        synchronized (writeLock) {
+            State s = state;
+            if (reloading) {
+                // Snapshot sedang diganti: lewat overlay agar tidak hilang saat reload selesai
+                EventIntervals added = batch.intervals.build();
+                for (int i = 0; i < added.size(); i++) {
+                    UUID id = added.id(i);
+                    s.overlay.put(id, new Entry(id, added.start(i), added.end(i), ++sequence));
+                }
+            } else {
+                // Id baru (UUIDv7), tidak ada entry snapshot atau overlay yang perlu diganti
+                state = new State(s.snapshot.merge(batch.intervals, id -> false), s.overlay);
+            }
+        }
+    }
+
+    void put(UUID id, long start, long end) {
+        synchronized (writeLock) {
+            State s = state;
+            s.overlay.put(id, new Entry(id, start, end, ++sequence));
+            // Selama reload, compact ditunda: entry yang masuk snapshot lama akan hilang saat state diganti
+            if (!reloading && s.overlay.size() >= compactThreshold) {
+                state = compact(s.snapshot, s.overlay.values(), 0);
+            }
+        }
+    }
+
+    // Snapshot baru dari snapshot lama + entry overlay dengan seq > keepAfter (entry lain sudah tercakup snapshot)
+    private static State compact(EventIntervals snapshot, Iterable<Entry> overlay, long keepAfter) {
+        Map<UUID, Entry> changed = new HashMap<>();
+        EventIntervals.Builder changes = new EventIntervals.Builder(16);
+        for (Entry e : overlay) {
+            if (e.seq > keepAfter) {
+                changed.put(e.id, e);
+                changes.add(e.id, e.start, e.end);
+            }
+        }
+        return new State(snapshot.merge(changes, changed::containsKey), new ConcurrentHashMap<>());
+    }
+
+    // Dipakai benchmark: ganti seluruh isi index tanpa DB
+    void replace(EventIntervals snapshot) {
+        synchronized (writeLock) {
+            state = new State(snapshot, new ConcurrentHashMap<>());
+        }
+        ready = true;
+    }
+
+    /**
+     * Load penuh dari DB: saat startup (initial delay 0) lalu berkala. Perubahan lokal yang terjadi selama
+     * load berjalan tetap dipertahankan di atas snapshot baru.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${event.time-index.refresh-interval-ms}")
+    public void reload() {
+        if (!enabled) return;
+        long startedAt;
+        synchronized (writeLock) {
+            startedAt = sequence;
+            reloading = true;
+        }
+
+        try {
+            long t0 = System.nanoTime();
+            EventIntervals loaded = load();
+            synchronized (writeLock) {
+                // Entry overlay s/d startedAt sudah di-commit sebelum load dimulai; sisanya ditumpuk ulang
+                state = compact(loaded, state.overlay.values(), startedAt);
+            }
+            ready = true;
+            log.info("Index waktu event di-load: {} event dalam {} ms", loaded.size(), (System.nanoTime() - t0) / 1_000_000);
+        } finally {
+            synchronized (writeLock) {
+                reloading = false;
+            }
+        }
+    }
+
+    // Transaksi read-write: dibaca dari primary, dan PostgreSQL hanya streaming (fetch size) di dalam transaksi
+    private EventIntervals load() {
+        EventIntervals.Builder builder = new EventIntervals.Builder(state.snapshot.size() + 1024);
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("select id, start_time, end_time from event order by start_time");
+            ps.setFetchSize(10_000);
+            return ps;
+        }, (RowCallbackHandler) rs -> builder.add(rs.getObject(1, UUID.class),
+                toMicros(rs.getObject(2, LocalDateTime.class)), toMicros(rs.getObject(3, LocalDateTime.class)))));
+        return builder.build();
+    }
+
+    /**
+     * Mikrodetik epoch, presisi kolom timestamp PostgreSQL. Sisa nanodetik dibulatkan ke mikrodetik terdekat
+     * seperti driver JDBC mengirim parameter, agar batas window di index sama dengan query DB (windowSpec).
+     */
+    static long toMicros(LocalDateTime t) {
+        return t.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + (t.getNano() + 500) / 1_000;
+    }
+}
@@ -0,0 +1,75 @@
+package com.yolifay.eventservice.service;
+
+import com.yolifay.eventservice.dto.ExportFormat;
+import com.yolifay.eventservice.repository.EventParticipantJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Export peserta secara streaming: baris dibaca lewat cursor JDBC dan langsung ditulis ke output,
+ * sehingga pemakaian memori tidak bergantung pada jumlah peserta.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ParticipantExportService {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final EventParticipantJdbcRepository participantJdbcRepo;
+
+    @Value("${export.participants.fetch-size}")
+    private int fetchSize;
+
+    // readOnly transaction wajib: tanpa transaksi (autocommit) driver memuat semua baris sekaligus
+    @Transactional(readOnly = true)
+    public long export(UUID eventId, ExportFormat format, OutputStream out) throws IOException {
+        log.info("Start export participants for event {} as {}", eventId, format);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        String event = eventId.toString();
+        long[] rows = {0};
+
+        if (format == ExportFormat.CSV) {
+            writer.write("id,eventId,wargaNik\n");
+        }
+        participantJdbcRepo.streamByEvent(eventId, fetchSize, rs -> {
+            try {
+                // id UUID dan NIK 16 digit, tidak perlu escaping JSON/CSV
+                writeRow(writer, format, rs.getString(1), event, rs.getString(2));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rows[0]++;
+        });
+        writer.flush();
+
+        log.info("End export participants for event {}: {} rows", eventId, rows[0]);
+        return rows[0];
+    }
+
+    private static void writeRow(Writer w, ExportFormat format, String id, String eventId, String nik) throws IOException {
+        if (format == ExportFormat.CSV) {
+            w.write(id);
+            w.write(',');
+            w.write(eventId);
+            w.write(',');
+            w.write(nik);
+            w.write('\n');
+            return;
+        }
+        w.write("{\"id\":\"");
+        w.write(id);
+        w.write("\",\"eventId\":\"");
+        w.write(eventId);
+        w.write("\",\"wargaNik\":\"");
+        w.write(nik);
+        w.write("\"}\n");
+    }
+}
@@ -0,0 +1,179 @@
+package com.yolifay.eventservice.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yolifay.eventservice.repository.EventParticipantJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pre-check duplikat registrasi: Bloom filter NIK peserta per event, di-build lazy dari event_participant
+ * dan ditambah setiap insert yang commit di instance ini. Miss pasti melewatkan query existsByEventIdAndWargaNik;
+ * kemungkinan hit tetap dicek ke DB.
+ * <p>
+ * Ukuran filter mengikuti participant_count saat build (2x, minimal min-entries, maksimal max-entries), bukan
+ * quota yang bisa sangat besar. Filter yang sudah terisi melebihi kapasitasnya di-build ulang dengan ukuran baru;
+ * event dengan peserta di atas max-entries tidak memakai filter (selalu dicek ke DB). Total memori dibatasi
+ * maximum-bytes lewat weigher cache.
+ * <p>
+ * Filter tidak melihat insert dari instance lain, jadi miss bukan jaminan: unique constraint
+ * uq_event_warga tetap penjaga terakhir (lihat EventService.admitParticipant).
+ * <p>
+ * Metric: registration.duplicate.check{result=skipped|database} untuk mengukur query yang dihemat,
+ * event.nik.filter.bytes untuk total memori filter.
+ */
+@Component
+public class ParticipantNikFilter {
+    private final EventParticipantJdbcRepository participantJdbcRepo;
+    private final boolean enabled;
+    private final double fpp;
+    private final int minEntries;
+    private final int maxEntries;
+    private final AsyncCache<UUID, Entry> filters;
+    private final Counter skipped;
+    private final Counter database;
+
+    public ParticipantNikFilter(EventParticipantJdbcRepository participantJdbcRepo,
+                                @Value("${registration.nik-filter.enabled}") boolean enabled,
+                                @Value("${registration.nik-filter.fpp}") double fpp,
+                                @Value("${registration.nik-filter.min-entries}") int minEntries,
+                                @Value("${registration.nik-filter.max-entries}") int maxEntries,
+                                @Value("${registration.nik-filter.maximum-bytes}") long maximumBytes,
+                                @Value("${registration.nik-filter.expire-after-access-ms}") long expireAfterAccessMs,
+                                MeterRegistry meterRegistry) {
+        this.participantJdbcRepo = participantJdbcRepo;
+        this.enabled = enabled;
+        this.fpp = fpp;
+        this.minEntries = minEntries;
+        this.maxEntries = maxEntries;
+        this.filters = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((UUID eventId, Entry e) -> (int) Math.min(Integer.MAX_VALUE, e.sizeInBytes()))
+                .expireAfterAccess(expireAfterAccessMs, TimeUnit.MILLISECONDS)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, filters.synchronous(), "nikFilter");
+        Gauge.builder("event.nik.filter.bytes", this, ParticipantNikFilter::sizeInBytes)
+                .description("Total memori Bloom filter NIK peserta")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.skipped = Counter.builder("registration.duplicate.check")
+                .description("Cek duplikat registrasi: dijawab filter (skipped) atau query DB (database)")
+                .tag("result", "skipped")
+                .register(meterRegistry);
+        this.database = Counter.builder("registration.duplicate.check")
+                .description("Cek duplikat registrasi: dijawab filter (skipped) atau query DB (database)")
+                .tag("result", "database")
+                .register(meterRegistry);
+    }
+
+    // filter null: peserta event melebihi max-entries, semua cek ke DB
+    private record Entry(NikBloomFilter filter) {
+        long sizeInBytes() {
+            return filter == null ? 0 : filter.sizeInBytes();
+        }
+    }
+
+    /**
+     * false jika NIK pasti belum terdaftar di event (menurut instance ini); true jika perlu dicek ke DB.
+     * Dipanggil di luar transaksi: build filter membaca primary, bukan replica.
+     */
+    public boolean mightBeRegistered(UUID eventId, String wargaNik) {
+        NikBloomFilter filter = enabled ? filter(eventId) : null;
+        boolean maybe = filter == null || filter.mightContain(wargaNik);
+        (maybe ? database : skipped).increment();
+        return maybe;
+    }
+
+    /**
+     * Subset NIK yang perlu dicek ke DB; sisanya pasti belum terdaftar.
+     */
+    public List<String> possiblyRegistered(UUID eventId, Collection<String> wargaNiks) {
+        NikBloomFilter filter = enabled ? filter(eventId) : null;
+        if (filter == null) {
+            database.increment(wargaNiks.size());
+            return List.copyOf(wargaNiks);
+        }
+        List<String> maybe = wargaNiks.stream().filter(filter::mightContain).toList();
+        database.increment(maybe.size());
+        skipped.increment(wargaNiks.size() - maybe.size());
+        return maybe;
+    }
+
+    /**
+     * Catat NIK yang sudah commit. Jika filter event sedang di-build, NIK ditambahkan setelah build selesai;
+     * jika belum ada, tidak perlu apa-apa karena build berikutnya membaca dari DB.
+     */
+    public void registered(UUID eventId, Collection<String> wargaNiks) {
+        if (!enabled || wargaNiks.isEmpty()) return;
+        CompletableFuture<Entry> entry = filters.getIfPresent(eventId);
+        if (entry != null) {
+            entry.thenAccept(e -> {
+                if (e.filter != null) wargaNiks.forEach(e.filter::put);
+            });
+        }
+    }
+
+    private NikBloomFilter filter(UUID eventId) {
+        CompletableFuture<Entry> cached = entry(eventId);
+        NikBloomFilter filter = join(cached).filter;
+        // Terisi melebihi kapasitas: false positive naik, build ulang dari DB dengan ukuran baru
+        if (filter != null && filter.saturated() && filter.capacity() < maxEntries) {
+            filters.asMap().remove(eventId, cached);
+            filter = join(entry(eventId)).filter;
+        }
+        return filter;
+    }
+
+    // Build di thread pemanggil, di luar compute() cache (pola yang sama dengan EventCache.get)
+    private CompletableFuture<Entry> entry(UUID eventId) {
+        CompletableFuture<Entry> created = new CompletableFuture<>();
+        CompletableFuture<Entry> cached = filters.get(eventId, (key, cacheExecutor) -> created);
+        if (cached == created) {
+            try {
+                created.complete(build(eventId));
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e);   // future gagal otomatis dibuang dari cache
+                throw e;
+            }
+        }
+        return cached;
+    }
+
+    private Entry build(UUID eventId) {
+        int participants = participantJdbcRepo.participantCount(eventId);
+        if (participants >= maxEntries) return new Entry(null);
+        int capacity = (int) Math.min(maxEntries, Math.max(minEntries, 2L * participants));
+        NikBloomFilter filter = new NikBloomFilter(capacity, fpp);
+        participantJdbcRepo.forEachNik(eventId, filter::put);
+        return new Entry(filter);
+    }
+
+    private static Entry join(CompletableFuture<Entry> entry) {
+        try {
+            return entry.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+
+    private double sizeInBytes() {
+        long total = 0;
+        for (CompletableFuture<Entry> f : filters.asMap().values()) {
+            if (f.isDone() && !f.isCompletedExceptionally()) total += f.join().sizeInBytes();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,37 @@
+package com.yolifay.eventservice.service;
+
+import com.yolifay.eventservice.dto.RegistrationStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Counter hasil registrasi peserta: event.registration{outcome=registered|duplicate|over_quota|unknown_nik}
+ */
+@Component
+public class RegistrationMetrics {
+    // PENDING/PROCESSING/FAILED hanya status tiket antrean, bukan hasil registrasi
+    private static final Set<RegistrationStatus> OUTCOMES = EnumSet.of(RegistrationStatus.REGISTERED,
+            RegistrationStatus.DUPLICATE, RegistrationStatus.UNKNOWN_NIK, RegistrationStatus.OVER_QUOTA);
+
+    private final Map<RegistrationStatus, Counter> outcomes = new EnumMap<>(RegistrationStatus.class);
+
+    public RegistrationMetrics(MeterRegistry meterRegistry) {
+        for (RegistrationStatus status : OUTCOMES) {
+            outcomes.put(status, Counter.builder("event.registration")
+                    .description("Hasil registrasi peserta event")
+                    .tag("outcome", status.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    public void record(RegistrationStatus status) {
+        Counter counter = outcomes.get(status);
+        if (counter != null) counter.increment();
+    }
+}
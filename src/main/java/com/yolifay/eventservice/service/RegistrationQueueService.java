@@ -0,0 +1,65 @@
+package com.yolifay.eventservice.service;
+
+import com.yolifay.eventservice.dto.RegisterParticipantRequest;
+import com.yolifay.eventservice.dto.RegistrationStatus;
+import com.yolifay.eventservice.dto.RegistrationTicketResponse;
+import com.yolifay.eventservice.entity.RegistrationRequest;
+import com.yolifay.eventservice.exception.DataNotFoundException;
+import com.yolifay.eventservice.repository.RegistrationRequestRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Registrasi async: request disimpan ke tabel registration_request lalu diproses
+ * RegistrationQueueWorker secara batch.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RegistrationQueueService {
+    private final RegistrationRequestRepository registrationRepo;
+    private final EventService eventService;
+
+    @Transactional
+    public RegistrationTicketResponse enqueue(UUID eventId, RegisterParticipantRequest req) {
+        log.info("Start enqueue registration for event {}", eventId);
+
+        eventService.getCachedEvent(eventId);
+
+        RegistrationRequest ticket = registrationRepo.save(RegistrationRequest.builder()
+                .eventId(eventId)
+                .wargaNik(req.wargaNik())
+                .status(RegistrationStatus.PENDING)
+                .build());
+
+        log.info("End enqueue registration for event {}: ticket {}", eventId, ticket.getId());
+        return mapTicketResponse(ticket);
+    }
+
+    // Bukan readOnly: dibaca dari primary, agar polling tepat setelah 202 tidak 404 karena replica tertinggal
+    @Transactional
+    public RegistrationTicketResponse getTicket(UUID ticketId) {
+        log.info("Start get registration ticket {}", ticketId);
+
+        RegistrationRequest ticket = registrationRepo.findById(ticketId)
+                .orElseThrow(() -> new DataNotFoundException("Tiket registrasi " + ticketId + " tidak ditemukan"));
+
+        log.info("End get registration ticket {}", ticketId);
+        return mapTicketResponse(ticket);
+    }
+
+    private static RegistrationTicketResponse mapTicketResponse(RegistrationRequest r) {
+        return new RegistrationTicketResponse(
+                r.getId().toString(),
+                r.getEventId().toString(),
+                r.getWargaNik(),
+                r.getStatus(),
+                r.getParticipantId() != null ? r.getParticipantId().toString() : null,
+                r.getMessage()
+        );
+    }
+}
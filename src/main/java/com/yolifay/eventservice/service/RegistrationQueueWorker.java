@@ -0,0 +1,134 @@
+package com.yolifay.eventservice.service;
+
+import com.yolifay.eventservice.common.RegistrationQueueProperties;
+import com.yolifay.eventservice.dto.BatchRegistrationResult;
+import com.yolifay.eventservice.dto.RegisterParticipantRequest;
+import com.yolifay.eventservice.dto.RegistrationStatus;
+import com.yolifay.eventservice.entity.RegistrationRequest;
+import com.yolifay.eventservice.exception.DataNotFoundException;
+import com.yolifay.eventservice.repository.RegistrationRequestRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Menguras antrean registration_request secara batch: klaim tiket (transaksi pendek),
+ * lalu per event jalankan EventService.registerParticipantsBatch. Status tiket disimpan
+ * di transaksi yang sama dengan insert peserta, jadi tidak ada hasil yang hilang jika worker mati.
+ * <p>
+ * Setiap klaim menaikkan attempts. Status akhir hanya ditulis jika tiket masih PROCESSING dengan attempts
+ * yang sama; jika klaim sudah diambil ulang worker lain (claim-timeout terlewati), transaksi di-rollback
+ * termasuk insert peserta, dan hasilnya ditentukan worker yang memegang klaim terbaru.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RegistrationQueueWorker {
+    private final RegistrationRequestRepository registrationRepo;
+    private final EventService eventService;
+    private final TransactionTemplate transactionTemplate;
+    private final RegistrationQueueProperties props;
+
+    @Scheduled(fixedDelayString = "${registration.async.poll-interval-ms}")
+    public void drain() {
+        if (!props.isEnabled()) return;
+
+        List<RegistrationRequest> claimed;
+        do {
+            claimed = claimBatch();
+            if (claimed.isEmpty()) return;
+
+            log.info("Start process {} queued registrations", claimed.size());
+            Map<UUID, List<RegistrationRequest>> byEvent = claimed.stream()
+                    .collect(Collectors.groupingBy(RegistrationRequest::getEventId, LinkedHashMap::new, Collectors.toList()));
+            byEvent.forEach(this::processEvent);
+            log.info("End process {} queued registrations", claimed.size());
+        } while (claimed.size() == props.getBatchSize());
+    }
+
+    private List<RegistrationRequest> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<RegistrationRequest> batch = registrationRepo.lockNextBatch(
+                    now.minusMillis(props.getClaimTimeoutMs()), props.getBatchSize());
+            for (RegistrationRequest r : batch) {
+                r.setStatus(RegistrationStatus.PROCESSING);
+                r.setClaimedAt(now);
+                r.setAttempts(r.getAttempts() + 1);
+            }
+            return batch;
+        });
+    }
+
+    private void processEvent(UUID eventId, List<RegistrationRequest> tickets) {
+        List<RegisterParticipantRequest> reqs = tickets.stream()
+                .map(t -> new RegisterParticipantRequest(t.getWargaNik()))
+                .toList();
+        try {
+            eventService.registerParticipantsBatch(eventId, reqs, results -> complete(tickets, results));
+        } catch (ClaimLostException e) {
+            // Tiket yang masih milik klaim ini dikembalikan ke antrean; sisanya dipegang worker lain
+            log.warn("Queued registrations for event {} rolled back: {}", eventId, e.getMessage());
+            update(tickets, t -> RegistrationStatus.PENDING, null);
+        } catch (DataNotFoundException e) {
+            update(tickets, t -> RegistrationStatus.FAILED, e.getMessage());
+        } catch (RuntimeException e) {
+            // Mis. identity-service tidak tersedia: kembalikan ke antrean sampai batas percobaan
+            log.warn("Queued registrations for event {} failed: {}", eventId, e.getMessage());
+            update(tickets, t -> t.getAttempts() >= props.getMaxAttempts()
+                    ? RegistrationStatus.FAILED : RegistrationStatus.PENDING, e.getMessage());
+        }
+    }
+
+    // Berjalan di dalam transaksi insert peserta
+    private void complete(List<RegistrationRequest> tickets, List<BatchRegistrationResult> results) {
+        Map<UUID, RegistrationRequest> owned = lockOwned(tickets);
+        if (owned.size() < tickets.size()) {
+            throw new ClaimLostException((tickets.size() - owned.size()) + " tiket sudah diklaim ulang worker lain");
+        }
+        Instant now = Instant.now();
+        for (int i = 0; i < tickets.size(); i++) {
+            RegistrationRequest t = owned.get(tickets.get(i).getId());
+            BatchRegistrationResult r = results.get(i);
+            t.setStatus(r.status());
+            t.setParticipantId(r.participantId() != null ? UUID.fromString(r.participantId()) : null);
+            t.setMessage(null);
+            t.setProcessedAt(now);
+        }
+    }
+
+    private void update(List<RegistrationRequest> tickets, Function<RegistrationRequest, RegistrationStatus> status,
+                        String message) {
+        transactionTemplate.executeWithoutResult(tx -> {
+            Instant now = Instant.now();
+            for (RegistrationRequest t : lockOwned(tickets).values()) {
+                t.setStatus(status.apply(t));
+                t.setMessage(message);
+                if (t.getStatus() == RegistrationStatus.FAILED) t.setProcessedAt(now);
+            }
+        });
+    }
+
+    // Tiket yang masih dipegang klaim ini: PROCESSING dengan attempts sama seperti saat diklaim (terkunci s/d commit)
+    private Map<UUID, RegistrationRequest> lockOwned(List<RegistrationRequest> tickets) {
+        Map<UUID, Integer> claimedAttempt = tickets.stream()
+                .collect(Collectors.toMap(RegistrationRequest::getId, RegistrationRequest::getAttempts));
+        return registrationRepo.lockAllById(claimedAttempt.keySet()).stream()
+                .filter(r -> r.getStatus() == RegistrationStatus.PROCESSING
+                        && r.getAttempts() == claimedAttempt.get(r.getId()))
+                .collect(Collectors.toMap(RegistrationRequest::getId, Function.identity()));
+    }
+
+    private static final class ClaimLostException extends RuntimeException {
+        ClaimLostException(String message) {
+            super(message);
+        }
+    }
+}
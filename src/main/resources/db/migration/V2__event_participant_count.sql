@@ -0,0 +1,15 @@
+-- Counter peserta per event, dipakai untuk admission kuota atomik (EventRepository.reserveSeat)
+ALTER TABLE public.event ADD COLUMN IF NOT EXISTS participant_count INTEGER NOT NULL DEFAULT 0;
+
+-- Backfill dari peserta yang sudah terdaftar
+UPDATE public.event e
+SET participant_count = p.cnt
+FROM (
+    SELECT event_id, count(*) AS cnt
+    FROM public.event_participant
+    GROUP BY event_id
+) p
+WHERE p.event_id = e.id;
+
+ALTER TABLE public.event DROP CONSTRAINT IF EXISTS ck_event_participant_count;
+ALTER TABLE public.event ADD CONSTRAINT ck_event_participant_count CHECK (participant_count >= 0);
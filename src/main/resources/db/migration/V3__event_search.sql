@@ -0,0 +1,11 @@
+-- Full-text search event (pengganti LOWER LIKE '%q%').
+-- Expression index: ikut terupdate otomatis pada setiap INSERT/UPDATE, tanpa kolom/trigger tambahan.
+-- Ekspresi harus sama persis dengan EventSearchFunctions.DOCUMENT_SQL.
+CREATE INDEX IF NOT EXISTS idx_event_search ON public.event USING GIN ((
+    setweight(to_tsvector('simple', coalesce(title, '')), 'A')
+    || setweight(to_tsvector('simple', coalesce(location, '')), 'B')
+    || setweight(to_tsvector('simple', coalesce(description, '')), 'C')
+));
+
+-- Query sangat pendek (< 3 karakter) dicocokkan sebagai prefix judul
+CREATE INDEX IF NOT EXISTS idx_event_title_prefix ON public.event (lower(title) text_pattern_ops);
@@ -0,0 +1,5 @@
+-- Seek pagination peserta: WHERE event_id = ? AND id > ? ORDER BY id LIMIT n
+CREATE INDEX IF NOT EXISTS idx_event_participant_event_id ON public.event_participant (event_id, id);
+
+-- Index lama (event_id) sudah tercakup oleh index komposit di atas
+DROP INDEX IF EXISTS public.idx_event_participant_event;
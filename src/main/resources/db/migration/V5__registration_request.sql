@@ -0,0 +1,15 @@
+-- Antrean registrasi async (registration.async.enabled=true)
+CREATE TABLE IF NOT EXISTS public.registration_request (
+    id             UUID         PRIMARY KEY,                     -- sekaligus ticket id
+    event_id       UUID         NOT NULL,
+    warga_nik      VARCHAR(16)  NOT NULL,
+    status         VARCHAR(20)  NOT NULL,
+    participant_id UUID,
+    attempts       INTEGER      NOT NULL DEFAULT 0,
+    message        TEXT,
+    created_at     TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    claimed_at     TIMESTAMPTZ,
+    processed_at   TIMESTAMPTZ
+);
+
+CREATE INDEX IF NOT EXISTS idx_registration_request_status ON public.registration_request (status, created_at);
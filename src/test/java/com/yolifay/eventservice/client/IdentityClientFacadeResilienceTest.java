@@ -0,0 +1,158 @@
+package com.yolifay.eventservice.client;
+
+import com.yolifay.eventservice.dto.client.IdentityEnvelope;
+import com.yolifay.eventservice.dto.client.WargaMinimal;
+import com.yolifay.eventservice.exception.DataNotFoundException;
+import com.yolifay.eventservice.loadtest.IdentityStubServer;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IdentityClientFacadeResilienceTest {
+
+    private IdentityStubServer stub;
+    private ExecutorService lookupExecutor;
+    private IdentityClientProperties props;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = IdentityStubServer.start(Duration.ZERO, 0.0);
+        lookupExecutor = Executors.newFixedThreadPool(8);
+
+        props = mock(IdentityClientProperties.class);
+        when(props.getNikCacheMaximumSize()).thenReturn(1000L);
+        when(props.getNikCachePositiveTtlMs()).thenReturn(60_000L);
+        when(props.getNikCacheNegativeTtlMs()).thenReturn(60_000L);
+        when(props.getCircuitBreakerFailureRateThreshold()).thenReturn(50f);
+        when(props.getCircuitBreakerSlowCallRateThreshold()).thenReturn(50f);
+        when(props.getCircuitBreakerSlowCallDurationMs()).thenReturn(100L);
+        when(props.getCircuitBreakerSlidingWindowSize()).thenReturn(5);
+        when(props.getCircuitBreakerMinimumCalls()).thenReturn(5);
+        when(props.getCircuitBreakerOpenStateMs()).thenReturn(60_000L);
+        when(props.getCircuitBreakerHalfOpenCalls()).thenReturn(1);
+        when(props.getBulkheadMaxConcurrentCalls()).thenReturn(10);
+        when(props.getBulkheadMaxWaitMs()).thenReturn(0L);
+        when(props.getFallbackMaximumSize()).thenReturn(1000L);
+        when(props.getFallbackTtlMs()).thenReturn(60_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        lookupExecutor.shutdownNow();
+        stub.close();
+    }
+
+    @Test
+    void slowUpstreamOpensBreakerAndFailsFast() {
+        stub.setLatency(Duration.ofMillis(250));
+        CircuitBreaker breaker = circuitBreaker();
+        IdentityClientFacade facade = facade(breaker, bulkhead());
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(facade.existsWargaByNik(nik(i)));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        long upstreamCalls = stub.requestCount();
+        long started = System.nanoTime();
+        assertThrows(IllegalStateException.class, () -> facade.existsWargaByNik(nik(99)));
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        assertTrue(elapsedMs < 100, "open breaker took " + elapsedMs + " ms to reject");
+        assertEquals(upstreamCalls, stub.requestCount());
+    }
+
+    @Test
+    void bulkheadRejectsCallsBeyondConcurrencyLimit() {
+        stub.setLatency(Duration.ofMillis(300));
+        when(props.getBulkheadMaxConcurrentCalls()).thenReturn(2);
+        Bulkhead bulkhead = bulkhead();
+        IdentityClientFacade facade = facade(circuitBreaker(), bulkhead);
+
+        List<String> niks = List.of(nik(0), nik(1), nik(2), nik(3), nik(4), nik(5));
+        assertThrows(IllegalStateException.class, () -> facade.existsWargaByNiks(niks));
+
+        // existsWargaByNiks bisa gagal lebih dulu pada NIK yang ditolak; tunggu dua panggilan yang lolos selesai
+        awaitUntil(() -> bulkhead.getMetrics().getAvailableConcurrentCalls() == 2, Duration.ofSeconds(5));
+        assertEquals(2, stub.requestCount());
+    }
+
+    @Test
+    void fallsBackToLastKnownVerdictWhenUpstreamFails() throws Exception {
+        when(props.isFallbackEnabled()).thenReturn(true);
+        when(props.getNikCachePositiveTtlMs()).thenReturn(1L);
+        IdentityClientFacade facade = facade(circuitBreaker(), bulkhead());
+
+        assertTrue(facade.existsWargaByNik(nik(0)));
+        Thread.sleep(20);   // biarkan entry nikCache kedaluwarsa
+
+        stub.setErrorRate(1.0);
+        assertTrue(facade.existsWargaByNik(nik(0)));
+        assertThrows(IllegalStateException.class, () -> facade.existsWargaByNik(nik(1)));
+    }
+
+    private IdentityClientFacade facade(CircuitBreaker breaker, Bulkhead bulkhead) {
+        return new IdentityClientFacade(stubClient(), props, lookupExecutor, breaker, bulkhead, new SimpleMeterRegistry());
+    }
+
+    private CircuitBreaker circuitBreaker() {
+        return CircuitBreaker.of(IdentityResilienceConfig.IDENTITY, IdentityResilienceConfig.circuitBreakerConfig(props));
+    }
+
+    private Bulkhead bulkhead() {
+        return Bulkhead.of(IdentityResilienceConfig.IDENTITY, IdentityResilienceConfig.bulkheadConfig(props));
+    }
+
+    private static void awaitUntil(BooleanSupplier condition, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "kondisi tidak terpenuhi dalam " + timeout);
+            LockSupport.parkNanos(Duration.ofMillis(10).toNanos());
+        }
+    }
+
+    private static String nik(int i) {
+        return String.format("%016d", 3201000000000000L + i);
+    }
+
+    // Pengganti Feign: panggil stub lewat HTTP dan petakan status seperti FeignConfig.errorDecoder
+    private IdentityFeignClient stubClient() {
+        HttpClient http = HttpClient.newHttpClient();
+        return nik -> {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(stub.baseUrl() + "/warga/by-nik/" + nik)).build();
+            try {
+                int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                return switch (status) {
+                    case 200 -> new IdentityEnvelope<>("20000001000", "Approved", new WargaMinimal(nik, "Warga", nik, null));
+                    case 404 -> throw new DataNotFoundException("Upstream 404");
+                    default -> throw new IllegalStateException("Upstream error: " + status);
+                };
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+}
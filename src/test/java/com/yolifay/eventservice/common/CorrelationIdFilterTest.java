@@ -0,0 +1,59 @@
+package com.yolifay.eventservice.common;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.yolifay.eventservice.common.CorrelationIdFilter.REQUEST_ID;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CorrelationIdFilterTest {
+
+    private final CorrelationIdFilter filter = new CorrelationIdFilter();
+
+    @Test
+    void propagatesValidRequestIdToMdcAndResponse() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(REQUEST_ID, "gateway-42.a:b");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> inChain = new AtomicReference<>();
+
+        filter.doFilter(request, response, (req, res) -> inChain.set(MDC.get(REQUEST_ID)));
+
+        assertEquals("gateway-42.a:b", inChain.get());
+        assertEquals("gateway-42.a:b", response.getHeader(REQUEST_ID));
+        assertNull(MDC.get(REQUEST_ID));   // dibersihkan setelah request
+    }
+
+    @Test
+    void replacesMissingOrUnsafeRequestId() throws Exception {
+        for (String header : new String[]{null, "", "id dengan spasi", "x".repeat(65), "abc\r\nForged: 1"}) {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            if (header != null) request.addHeader(REQUEST_ID, header);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            AtomicReference<String> inChain = new AtomicReference<>();
+
+            filter.doFilter(request, response, (req, res) -> inChain.set(MDC.get(REQUEST_ID)));
+
+            String generated = response.getHeader(REQUEST_ID);
+            assertDoesNotThrow(() -> UUID.fromString(generated), "header " + header);
+            assertEquals(generated, inChain.get());
+        }
+    }
+
+    @Test
+    void clearsMdcWhenChainThrows() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(REQUEST_ID, "req-1");
+
+        assertThrows(IllegalStateException.class, () -> filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> {
+                    throw new IllegalStateException("boom");
+                }));
+        assertNull(MDC.get(REQUEST_ID));
+    }
+}
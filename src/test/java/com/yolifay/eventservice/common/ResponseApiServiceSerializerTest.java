@@ -0,0 +1,68 @@
+package com.yolifay.eventservice.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yolifay.eventservice.dto.ParticipantResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ResponseApiServiceSerializerTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void writesPreEncodedEnvelope() throws Exception {
+        var response = ResponseApiUtil.setResponse(201, "00002", Constants.RESPONSE.CREATED,
+                new ParticipantResponse("p-1", "e-1", "3201000000000001"));
+
+        assertEquals("{\"responseCode\":\"2010000201\",\"responseDesc\":\"Created\","
+                        + "\"data\":{\"id\":\"p-1\",\"eventId\":\"e-1\",\"wargaNik\":\"3201000000000001\"}}",
+                objectMapper.writeValueAsString(response));
+    }
+
+    @Test
+    void omitsNullData() throws Exception {
+        var response = ResponseApiUtil.setResponse(404, "00002", Constants.RESPONSE.ACCOUNT_NOT_FOUND, null);
+
+        assertEquals("{\"responseCode\":\"4040000214\",\"responseDesc\":\"Data tidak ditemukan\"}",
+                objectMapper.writeValueAsString(response));
+    }
+
+    @Test
+    void setterOverridesPreEncodedHeader() throws Exception {
+        var response = ResponseApiUtil.setResponse(200, "00002", Constants.RESPONSE.APPROVED, null);
+        response.setResponseDesc("Custom");
+
+        assertEquals("{\"responseCode\":\"2000000200\",\"responseDesc\":\"Custom\"}",
+                objectMapper.writeValueAsString(response));
+    }
+
+    @Test
+    void setterOverridesPreEncodedHeaderEvenWithEqualValue() throws Exception {
+        var response = ResponseApiUtil.setResponse(200, "00002", Constants.RESPONSE.APPROVED, null);
+        response.setResponseCode(new String("2000000200"));
+        response.setResponseDesc("Custom");
+
+        assertEquals("{\"responseCode\":\"2000000200\",\"responseDesc\":\"Custom\"}",
+                objectMapper.writeValueAsString(response));
+    }
+
+    @Test
+    void builderHasNoHeader() throws Exception {
+        var response = ResponseApiService.<String>builder().responseCode("2000000200").responseDesc("OK").data("a").build();
+
+        assertEquals("{\"responseCode\":\"2000000200\",\"responseDesc\":\"OK\",\"data\":\"a\"}",
+                objectMapper.writeValueAsString(response));
+    }
+
+    @Test
+    void reusesHeaderAcrossResponses() {
+        var first = ResponseApiUtil.setResponse(200, "00002", Constants.RESPONSE.APPROVED, "a");
+        var second = ResponseApiUtil.setResponse(200, "00002", Constants.RESPONSE.APPROVED, "b");
+
+        assertSame(first.getResponseCode(), second.getResponseCode());
+        assertEquals("2000000200", ResponseApiUtil.formatCode(200, "00002", "00"));
+    }
+}
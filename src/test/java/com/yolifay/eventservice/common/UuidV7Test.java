@@ -0,0 +1,61 @@
+package com.yolifay.eventservice.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7Test {
+
+    @Test
+    void setsVersionVariantAndTimestamp() {
+        long now = System.currentTimeMillis();
+        UUID id = UuidV7.next(now);
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertTrue((id.getMostSignificantBits() >>> 16) >= now);
+    }
+
+    @Test
+    void staysMonotonicWithinMillisecondAndWhenClockGoesBack() {
+        long now = System.currentTimeMillis();
+        UUID previous = UuidV7.next(now);
+        for (int i = 0; i < 10_000; i++) {   // lebih dari 4096 id: counter meluap ke milidetik berikutnya
+            UUID current = UuidV7.next(i % 2 == 0 ? now : now - 5_000);
+            assertTrue(compareUnsigned(previous, current) < 0, previous + " >= " + current);
+            previous = current;
+        }
+    }
+
+    @Test
+    void uniqueAcrossThreads() throws Exception {
+        int threads = 8;
+        int perThread = 50_000;
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    Set<UUID> local = new HashSet<>();
+                    for (int i = 0; i < perThread; i++) local.add(UuidV7.next());
+                    ids.addAll(local);
+                }));
+            }
+            for (Future<?> f : futures) f.get(30, TimeUnit.SECONDS);
+        }
+        assertEquals(threads * perThread, ids.size());
+    }
+
+    // Urutan byte seperti di PostgreSQL (UUID.compareTo membandingkan signed long)
+    private static int compareUnsigned(UUID a, UUID b) {
+        int msb = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return msb != 0 ? msb : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
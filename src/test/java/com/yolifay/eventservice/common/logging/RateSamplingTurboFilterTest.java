@@ -0,0 +1,56 @@
+package com.yolifay.eventservice.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RateSamplingTurboFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final Logger sampled = context.getLogger("com.yolifay.eventservice.service.EventService");
+    private final Logger other = context.getLogger("org.hibernate.SQL");
+    private final AtomicLong now = new AtomicLong(1_700_000_000_000L);
+    private final RateSamplingTurboFilter filter = new RateSamplingTurboFilter(now::get);
+
+    RateSamplingTurboFilterTest() {
+        filter.setLoggers("com.yolifay.eventservice.controller, com.yolifay.eventservice.service");
+        filter.setMaxLevel("INFO");
+        filter.setPerSecond(5);
+    }
+
+    @Test
+    void capsSampledLoggersPerSecond() {
+        assertEquals(5, allowed(sampled, Level.INFO, 20));
+
+        now.addAndGet(999);   // masih detik yang sama
+        assertEquals(0, allowed(sampled, Level.DEBUG, 3));
+
+        now.addAndGet(1);     // detik berikutnya: kuota baru
+        assertEquals(5, allowed(sampled, Level.INFO, 20));
+    }
+
+    @Test
+    void neverSamplesWarnErrorOrOtherLoggers() {
+        allowed(sampled, Level.INFO, 5);   // kuota detik ini habis
+
+        assertEquals(10, allowed(sampled, Level.WARN, 10));
+        assertEquals(10, allowed(sampled, Level.ERROR, 10));
+        assertEquals(10, allowed(other, Level.INFO, 10));
+        // isInfoEnabled() (format null) tidak ditolak dan tidak memakai kuota
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, sampled, Level.INFO, null, null, null));
+    }
+
+    private int allowed(Logger logger, Level level, int attempts) {
+        int allowed = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (filter.decide(null, logger, level, "Start list events", null, null) == FilterReply.NEUTRAL) allowed++;
+        }
+        return allowed;
+    }
+}
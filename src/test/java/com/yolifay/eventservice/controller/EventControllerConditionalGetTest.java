@@ -0,0 +1,75 @@
+package com.yolifay.eventservice.controller;
+
+import com.yolifay.eventservice.dto.EventCreateRequest;
+import com.yolifay.eventservice.dto.EventUpdateRequest;
+import com.yolifay.eventservice.service.EventService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EventControllerConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID eventId;
+
+    @AfterEach
+    void cleanup() {
+        if (eventId != null) jdbcTemplate.update("delete from event where id = ?", eventId);
+    }
+
+    @Test
+    void etagRevalidatesUntilEventIsUpdated() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(3).withNano(0);
+        var event = eventService.createEvent(new EventCreateRequest(
+                "Rapat RT", start, start.plusHours(1), "Pos ronda", 20, null));
+        eventId = UUID.fromString(event.id());
+
+        String etag = mockMvc.perform(get("/events/by-id/{id}", eventId).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                .andExpect(jsonPath("$.data.title").value("Rapat RT"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/events/by-id/{id}", eventId).accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // Cache di-evict setelah commit: GET berikutnya membaca versi baru dengan ETag baru
+        eventService.updateEvent(eventId, new EventUpdateRequest(
+                "Rapat RT (pindah)", start, start.plusHours(1), "Balai warga", 20, null));
+
+        String updatedEtag = mockMvc.perform(get("/events/by-id/{id}", eventId).accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.title").value("Rapat RT (pindah)"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, updatedEtag);
+    }
+}
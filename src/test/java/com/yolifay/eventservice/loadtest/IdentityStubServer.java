@@ -0,0 +1,100 @@
+package com.yolifay.eventservice.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stub identity-service lokal untuk benchmark dan load test (GET /warga/by-nik/{nik}).
+ * Latency dan error rate (503) bisa diatur saat berjalan; NIK berawalan {@value #UNKNOWN_NIK_PREFIX}
+ * dijawab 404 agar skenario "NIK tidak dikenal" bisa disimulasikan.
+ */
+public final class IdentityStubServer implements AutoCloseable {
+
+    public static final String UNKNOWN_NIK_PREFIX = "9999";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final LongAdder requests = new LongAdder();
+
+    private volatile Duration latency;
+    private volatile double errorRate;
+
+    private IdentityStubServer(Duration latency, double errorRate) throws IOException {
+        this.latency = latency;
+        this.errorRate = errorRate;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext("/warga/by-nik/", this::handle);
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    public static IdentityStubServer start(Duration latency, double errorRate) throws IOException {
+        return new IdentityStubServer(latency, errorRate);
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    public long requestCount() {
+        return requests.sum();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.increment();
+        try {
+            if (!latency.isZero()) Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        String path = exchange.getRequestURI().getPath();
+        String nik = path.substring(path.lastIndexOf('/') + 1);
+
+        int status;
+        String body;
+        if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+            status = 503;
+            body = "{\"responseCode\":\"50300001X5\",\"responseDesc\":\"Service Unavailable\"}";
+        } else if (nik.startsWith(UNKNOWN_NIK_PREFIX)) {
+            status = 404;
+            body = "{\"responseCode\":\"40400001014\",\"responseDesc\":\"Data tidak ditemukan\"}";
+        } else {
+            status = 200;
+            body = "{\"responseCode\":\"20000001000\",\"responseDesc\":\"Approved\",\"data\":"
+                    + "{\"id\":\"" + nik + "\",\"nama\":\"Warga " + nik + "\",\"nik\":\"" + nik + "\",\"noHp\":\"08120000000\"}}";
+        }
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,42 @@
+package com.yolifay.eventservice.loadtest;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Pencatat latency sederhana untuk benchmark/load test (nanodetik).
+ */
+public final class LatencyStats {
+
+    private final ConcurrentLinkedQueue<Long> samples = new ConcurrentLinkedQueue<>();
+
+    public void record(long nanos) {
+        samples.add(nanos);
+    }
+
+    public int count() {
+        return samples.size();
+    }
+
+    public Snapshot snapshot() {
+        long[] sorted = samples.stream().mapToLong(Long::longValue).sorted().toArray();
+        return new Snapshot(sorted);
+    }
+
+    public record Snapshot(long[] sorted) {
+        public double percentileMs(double p) {
+            if (sorted.length == 0) return 0;
+            int idx = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(idx, sorted.length - 1))] / 1_000_000.0;
+        }
+
+        public double maxMs() {
+            return sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("n=%d p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms",
+                    sorted.length, percentileMs(50), percentileMs(95), percentileMs(99), maxMs());
+        }
+    }
+}
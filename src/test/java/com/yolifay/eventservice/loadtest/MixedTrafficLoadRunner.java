@@ -0,0 +1,248 @@
+package com.yolifay.eventservice.loadtest;
+
+import com.yolifay.eventservice.EventServiceApplication;
+import com.yolifay.eventservice.dto.EventCreateRequest;
+import com.yolifay.eventservice.service.EventService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load test offline dengan trafik campuran: pencarian listEvents, getEventById, dan burst /register
+ * yang saling berebut kuota kecil. Aplikasi dijalankan in-process terhadap PostgreSQL lokal (seperti test lain)
+ * dengan IdentityStubServer menggantikan identity-service.
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.yolifay.eventservice.loadtest.MixedTrafficLoadRunner \
+ *     -Dexec.args="60 200 50 0.0"
+ * </pre>
+ * Argumen: durasi dalam detik (default 30), jumlah client bersamaan (default 100),
+ * latency stub dalam ms (default 50), error rate stub 0..1 (default 0.0).
+ * Property aplikasi tambahan bisa diberikan lewat -D (mis. -Dspring.threads.virtual.enabled=true).
+ * <p>
+ * Setiap burst membuat event baru berkuota {@value #BURST_QUOTA} lalu mengirim {@value #BURST_SIZE} registrasi
+ * sekaligus (seperempatnya NIK duplikat). Pelanggaran kuota dihitung jika baris peserta melebihi kuota,
+ * participant_count tidak sama dengan jumlah baris, atau jumlah respons 201 tidak sama dengan jumlah baris.
+ * Jika ada pelanggaran, proses keluar dengan kode 1.
+ */
+public final class MixedTrafficLoadRunner {
+
+    private static final int SEARCH_EVENTS = 200;
+    private static final int BURST_QUOTA = 20;
+    private static final int BURST_SIZE = 200;
+    private static final long BURST_INTERVAL_MS = 2_000;
+    private static final int SEARCH_WEIGHT = 60;   // sisanya getEventById
+    private static final String[] SEARCH_TERMS = {"posyandu", "vaksinasi", "senam", "kerja bakti", "po", "balai"};
+    private static final String[] TITLES = {"Posyandu balita", "Vaksinasi massal", "Senam pagi lansia",
+            "Kerja bakti RW", "Penyuluhan gizi", "Rapat warga balai desa"};
+
+    private MixedTrafficLoadRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int durationSec = args.length > 0 ? Integer.parseInt(args[0]) : 30;
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        long latencyMs = args.length > 2 ? Long.parseLong(args[2]) : 50;
+        double errorRate = args.length > 3 ? Double.parseDouble(args[3]) : 0.0;
+
+        int violations;
+        try (IdentityStubServer stub = IdentityStubServer.start(Duration.ofMillis(latencyMs), errorRate);
+             ConfigurableApplicationContext ctx = new SpringApplicationBuilder(EventServiceApplication.class)
+                     .properties(
+                             "server.port=0",
+                             "spring.cloud.openfeign.client.config.identityClient.url=" + stub.baseUrl(),
+                             "registration.async.enabled=false",
+                             "logging.level.root=WARN")
+                     .run()) {
+            int port = ctx.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            Harness harness = new Harness(ctx.getBean(EventService.class), ctx.getBean(JdbcTemplate.class),
+                    "http://127.0.0.1:" + port + "/events");
+            try {
+                harness.seed();
+                harness.run(Duration.ofSeconds(durationSec), clients);
+            } finally {
+                harness.cleanup();
+            }
+
+            System.out.printf("%n%ds, %d clients, identity latency %d ms, error rate %.2f, upstream calls %d%n",
+                    durationSec, clients, latencyMs, errorRate, stub.requestCount());
+            harness.report();
+            // Query cek duplikat yang dihemat Bloom filter NIK (lihat ParticipantNikFilter)
+            MeterRegistry meters = ctx.getBean(MeterRegistry.class);
+            System.out.printf("duplicate-check skipped=%.0f database=%.0f%n",
+                    meters.get("registration.duplicate.check").tag("result", "skipped").counter().count(),
+                    meters.get("registration.duplicate.check").tag("result", "database").counter().count());
+            violations = harness.violations.get();
+        }
+        System.exit(violations == 0 ? 0 : 1);
+    }
+
+    private static final class Harness {
+        private final EventService eventService;
+        private final JdbcTemplate jdbc;
+        private final String baseUrl;
+        private final List<UUID> eventIds = new CopyOnWriteArrayList<>();
+        private final Map<String, Op> ops = new ConcurrentSkipListMap<>();
+        private final AtomicInteger bursts = new AtomicInteger();
+        private final AtomicInteger violations = new AtomicInteger();
+        private final AtomicInteger nikSeq = new AtomicInteger();
+        private List<UUID> searchEventIds;
+        private long elapsedNanos;
+
+        Harness(EventService eventService, JdbcTemplate jdbc, String baseUrl) {
+            this.eventService = eventService;
+            this.jdbc = jdbc;
+            this.baseUrl = baseUrl;
+        }
+
+        void seed() {
+            LocalDateTime start = LocalDateTime.now().plusDays(3);
+            for (int i = 0; i < SEARCH_EVENTS; i++) {
+                String title = TITLES[i % TITLES.length] + " " + i;
+                eventIds.add(createEvent(title, start.plusHours(i), 1000));
+            }
+            searchEventIds = List.copyOf(eventIds);
+        }
+
+        void run(Duration duration, int clients) throws Exception {
+            long deadline = System.nanoTime() + duration.toNanos();
+            try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor();
+                 HttpClient http = HttpClient.newBuilder()
+                         .version(HttpClient.Version.HTTP_1_1)
+                         .build()) {
+                long t0 = System.nanoTime();
+                List<Future<Void>> loops = new ArrayList<>(clients + 1);
+                for (int c = 0; c < clients; c++) {
+                    loops.add(pool.submit(() -> readLoop(http, deadline)));
+                }
+                loops.add(pool.submit(() -> burstLoop(http, pool, deadline)));
+                for (Future<Void> loop : loops) loop.get();
+                elapsedNanos = System.nanoTime() - t0;
+            }
+        }
+
+        private Void readLoop(HttpClient http, long deadline) {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+            while (System.nanoTime() < deadline) {
+                if (rnd.nextInt(100) < SEARCH_WEIGHT) {
+                    String q = URLEncoder.encode(SEARCH_TERMS[rnd.nextInt(SEARCH_TERMS.length)], StandardCharsets.UTF_8);
+                    send(http, "listEvents", get(baseUrl + "?q=" + q + "&perpage=20"));
+                } else {
+                    UUID id = searchEventIds.get(rnd.nextInt(searchEventIds.size()));
+                    send(http, "getEventById", get(baseUrl + "/by-id/" + id));
+                }
+            }
+            return null;
+        }
+
+        private Void burstLoop(HttpClient http, ExecutorService pool, long deadline) throws Exception {
+            while (System.nanoTime() < deadline) {
+                long next = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(BURST_INTERVAL_MS);
+                burst(http, pool);
+                long sleepNanos = next - System.nanoTime();
+                if (sleepNanos > 0) TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            }
+            return null;
+        }
+
+        private void burst(HttpClient http, ExecutorService pool) throws Exception {
+            UUID eventId = createEvent("Burst " + bursts.incrementAndGet(), LocalDateTime.now().plusDays(1), BURST_QUOTA);
+            eventIds.add(eventId);
+
+            URI uri = URI.create(baseUrl + "/" + eventId + "/register");
+            int distinct = BURST_SIZE * 3 / 4;
+            int firstNik = nikSeq.getAndAdd(distinct);
+            AtomicInteger created = new AtomicInteger();
+            CountDownLatch go = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>(BURST_SIZE);
+            for (int i = 0; i < BURST_SIZE; i++) {
+                String nik = String.format("%016d", 3201000000000000L + firstNik + (i % distinct));
+                HttpRequest req = HttpRequest.newBuilder(uri)
+                        .header("Content-Type", "application/json")
+                        .timeout(Duration.ofMinutes(2))
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"wargaNik\":\"" + nik + "\"}"))
+                        .build();
+                futures.add(pool.submit(() -> {
+                    go.await();
+                    if (send(http, "register", req) == 201) created.incrementAndGet();
+                    return null;
+                }));
+            }
+            go.countDown();
+            for (Future<?> f : futures) f.get();
+
+            Map<String, Object> row = jdbc.queryForMap(
+                    "select (select count(*) from event_participant p where p.event_id = e.id) as rows, " +
+                            "e.participant_count as counted from event e where e.id = ?", eventId);
+            long rows = ((Number) row.get("rows")).longValue();
+            long counted = ((Number) row.get("counted")).longValue();
+            if (rows > BURST_QUOTA || rows != counted || rows != created.get()) {
+                violations.incrementAndGet();
+                System.err.printf("quota violation on %s: rows=%d participant_count=%d created=%d quota=%d%n",
+                        eventId, rows, counted, created.get(), BURST_QUOTA);
+            }
+        }
+
+        private int send(HttpClient http, String op, HttpRequest req) {
+            long t0 = System.nanoTime();
+            int status;
+            try {
+                status = http.send(req, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                status = -1;
+            } catch (Exception e) {
+                status = -1;
+            }
+            ops.computeIfAbsent(op, k -> new Op()).record(System.nanoTime() - t0, status);
+            return status;
+        }
+
+        private static HttpRequest get(String url) {
+            return HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofMinutes(1)).GET().build();
+        }
+
+        private UUID createEvent(String title, LocalDateTime start, int quota) {
+            var event = eventService.createEvent(new EventCreateRequest(
+                    title, start, start.plusHours(2), "Balai desa", quota, "Load test"));
+            return UUID.fromString(event.id());
+        }
+
+        void cleanup() {
+            for (UUID id : eventIds) {
+                jdbc.update("delete from event_participant where event_id = ?", id);
+                jdbc.update("delete from event where id = ?", id);
+            }
+        }
+
+        void report() {
+            double seconds = elapsedNanos / 1e9;
+            ops.forEach((name, op) -> System.out.printf("%-14s %8.1f req/s  %s  status=%s%n",
+                    name, op.latency.count() / seconds, op.latency.snapshot(), new TreeMap<>(op.statuses)));
+            System.out.printf("bursts=%d quota-violations=%d%n", bursts.get(), violations.get());
+        }
+    }
+
+    private static final class Op {
+        final LatencyStats latency = new LatencyStats();
+        final Map<Integer, Integer> statuses = new ConcurrentHashMap<>();
+
+        void record(long nanos, int status) {
+            latency.record(nanos);
+            statuses.merge(status, 1, Integer::sum);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.yolifay.eventservice.loadtest;
+
+import com.yolifay.eventservice.EventServiceApplication;
+import com.yolifay.eventservice.dto.EventCreateRequest;
+import com.yolifay.eventservice.service.EventService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+/**
+ * Perbandingan throughput registrasi antara thread pool Tomcat (platform thread) dan mode virtual thread,
+ * dengan identity-service lambat (IdentityStubServer). Butuh PostgreSQL lokal seperti test lain.
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.yolifay.eventservice.loadtest.VirtualThreadRegistrationBenchmark \
+ *     -Dexec.args="1000 500"
+ * </pre>
+ * Argumen: jumlah registrasi bersamaan (default 1000) dan latency stub dalam ms (default 500).
+ */
+public final class VirtualThreadRegistrationBenchmark {
+
+    private VirtualThreadRegistrationBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int registrations = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        long latencyMs = args.length > 1 ? Long.parseLong(args[1]) : 500;
+
+        try (IdentityStubServer stub = IdentityStubServer.start(Duration.ofMillis(latencyMs), 0.0)) {
+            Result platform = run(false, stub, registrations);
+            Result virtual = run(true, stub, registrations);
+
+            System.out.printf("%n%d concurrent registrations, identity latency %d ms%n", registrations, latencyMs);
+            System.out.println(platform);
+            System.out.println(virtual);
+        }
+    }
+
+    private static Result run(boolean virtualThreads, IdentityStubServer stub, int registrations) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(EventServiceApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.cloud.openfeign.client.config.identityClient.url=" + stub.baseUrl(),
+                        "logging.level.root=WARN")
+                .run()) {
+            int port = ctx.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            JdbcTemplate jdbc = ctx.getBean(JdbcTemplate.class);
+
+            LocalDateTime start = LocalDateTime.now().plusDays(1);
+            var event = ctx.getBean(EventService.class).createEvent(new EventCreateRequest(
+                    "Benchmark " + mode, start, start.plusHours(1), "Stub", registrations, null));
+            UUID eventId = UUID.fromString(event.id());
+
+            try {
+                return fire(mode, port, eventId, registrations);
+            } finally {
+                jdbc.update("delete from event_participant where event_id = ?", eventId);
+                jdbc.update("delete from event where id = ?", eventId);
+            }
+        }
+    }
+
+    private static Result fire(String mode, int port, UUID eventId, int registrations) throws Exception {
+        URI uri = URI.create("http://127.0.0.1:" + port + "/events/" + eventId + "/register");
+        LatencyStats latency = new LatencyStats();
+        Map<Integer, Integer> statuses = new ConcurrentSkipListMap<>();
+        CountDownLatch go = new CountDownLatch(1);
+
+        long elapsed;
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(clients)
+                     .build()) {
+            for (int i = 0; i < registrations; i++) {
+                String body = "{\"wargaNik\":\"" + String.format("%016d", 3201000000000000L + i) + "\"}";
+                HttpRequest req = HttpRequest.newBuilder(uri)
+                        .header("Content-Type", "application/json")
+                        .timeout(Duration.ofMinutes(2))
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+                clients.submit(() -> {
+                    go.await();
+                    long t0 = System.nanoTime();
+                    int status;
+                    try {
+                        status = http.send(req, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (Exception e) {
+                        status = -1;
+                    }
+                    latency.record(System.nanoTime() - t0);
+                    statuses.merge(status, 1, Integer::sum);
+                    return null;
+                });
+            }
+
+            long t0 = System.nanoTime();
+            go.countDown();
+            clients.shutdown();
+            clients.awaitTermination(10, TimeUnit.MINUTES);
+            elapsed = System.nanoTime() - t0;
+        }
+        return new Result(mode, registrations, elapsed, latency.snapshot(), new TreeMap<>(statuses));
+    }
+
+    private record Result(String mode, int requests, long elapsedNanos, LatencyStats.Snapshot latency,
+                          Map<Integer, Integer> statuses) {
+        @Override
+        public String toString() {
+            double seconds = elapsedNanos / 1e9;
+            return String.format("%-8s %7.1f req/s  wall=%.2fs  %s  status=%s",
+                    mode, requests / seconds, seconds, latency, statuses);
+        }
+    }
+}
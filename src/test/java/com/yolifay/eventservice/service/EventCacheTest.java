@@ -0,0 +1,60 @@
+package com.yolifay.eventservice.service;
+
+import com.yolifay.eventservice.dto.EventResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventCacheTest {
+
+    private final EventCache cache = new EventCache(100, 60_000, new SimpleMeterRegistry());
+    private final UUID eventId = UUID.randomUUID();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void readThroughLoadsOnceAndReloadsAfterEvict() {
+        assertEquals("v1", cache.get(eventId, this::load).orElseThrow().etag());
+        assertEquals("v1", cache.get(eventId, this::load).orElseThrow().etag());
+        assertEquals(1, loads.get());
+
+        cache.evictAfterCommit(eventId);   // tanpa transaksi aktif: langsung di-invalidate
+
+        assertEquals("v2", cache.get(eventId, this::load).orElseThrow().etag());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void loadInFlightDuringInvalidateIsNotCached() {
+        // Update commit saat loader masih membaca versi lama: hasil loader dipakai pemanggil, tapi tidak di-cache
+        CachedEvent stale = cache.get(eventId, id -> {
+            CachedEvent loaded = load(id);
+            cache.evictAfterCommit(id);
+            return loaded;
+        }).orElseThrow();
+        assertEquals("v1", stale.etag());
+
+        assertEquals("v2", cache.get(eventId, this::load).orElseThrow().etag());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void missingEventIsNotCached() {
+        assertTrue(cache.get(eventId, id -> {
+            loads.incrementAndGet();
+            return null;
+        }).isEmpty());
+        assertEquals("v2", cache.get(eventId, this::load).orElseThrow().etag());
+    }
+
+    private CachedEvent load(UUID id) {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 8, 0);
+        EventResponse event = new EventResponse(id.toString(), "Musyawarah desa", start, start.plusHours(2),
+                "Balai desa", 50, null);
+        return new CachedEvent(event, "v" + loads.incrementAndGet());
+    }
+}
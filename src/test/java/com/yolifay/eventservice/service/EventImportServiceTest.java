@@ -0,0 +1,112 @@
+package com.yolifay.eventservice.service;
+
+import com.yolifay.eventservice.dto.EventImportResult;
+import com.yolifay.eventservice.dto.ImportFormat;
+import com.yolifay.eventservice.exception.BadRequestException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class EventImportServiceTest {
+
+    // Judul unik per run agar baris hasil import bisa dihitung dan dibersihkan
+    private final String tag = "Import test " + UUID.randomUUID();
+
+    @Autowired
+    private EventImportService importService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EventTimeIndex eventTimeIndex;
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("delete from event where title like ?", tag + "%");
+    }
+
+    @Test
+    void importsValidNdjsonRowsAndReportsInvalidLines() {
+        String body = String.join("\n",
+                row("a", "2030-01-01T08:00:00", "2030-01-01T10:00:00", 50),
+                "{not json",
+                row("b", "2030-01-02T10:00:00", "2030-01-02T08:00:00", 50),   // end sebelum start
+                "",
+                row("c", "2030-01-03T08:00:00", "2030-01-03T10:00:00", 0),    // quota < 1
+                row("d \\\"kutip\\\", koma", "2030-01-04T08:00:00", "2030-01-04T10:00:00", 10));
+
+        EventImportResult result = importService.importEvents(stream(body), ImportFormat.NDJSON);
+
+        assertEquals(5, result.rows());
+        assertEquals(2, result.imported());
+        assertEquals(3, result.rejected());
+        assertEquals(2, result.errors().get(0).line());
+        assertEquals(3, result.errors().get(1).line());
+        assertEquals(5, result.errors().get(2).line());
+        assertFalse(result.errorsTruncated());
+        assertEquals(2, count());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select count(*) from event where title = ?", Integer.class, tag + " d \"kutip\", koma"));
+
+        // Langsung terlihat di index waktu setelah commit, tanpa menunggu reload
+        UUID imported = jdbcTemplate.queryForObject("select id from event where title = ?", UUID.class, tag + " a");
+        assertTrue(eventTimeIndex.overlapping(LocalDateTime.parse("2030-01-01T09:00:00"),
+                LocalDateTime.parse("2030-01-01T09:30:00"), 1000).contains(imported));
+    }
+
+    @Test
+    void importsCsvWithNullsAndRejectsBadValues() {
+        String body = "title,startTime,endTime,location,quota,description\n"
+                + tag + " a,2030-02-01T08:00:00,2030-02-01T10:00:00,,20,\n"
+                + tag + " b,2030-02-02T08:00:00,2030-02-02T10:00:00,Balai desa,banyak,Catatan\n"
+                + "\"" + tag + " c\",2030-02-03T08:00:00,2030-02-03T10:00:00,\"Lapangan, RW 2\",30,\"Baris\nkedua\"\n"
+                + tag + " d,2030-02-04T08:00:00,2030-02-04T10:00:00,Balai desa,-1,\n";
+
+        EventImportResult result = importService.importEvents(stream(body), ImportFormat.CSV);
+
+        assertEquals(4, result.rows());
+        assertEquals(2, result.imported());
+        assertEquals(3, result.errors().get(0).line());
+        // Record c memakai baris 4-5, jadi record d ada di baris fisik 6
+        assertEquals(6, result.errors().get(1).line());
+        assertEquals(2, count());
+        assertNull(jdbcTemplate.queryForObject(
+                "select location from event where title = ?", String.class, tag + " a"));
+        assertEquals("Baris\nkedua", jdbcTemplate.queryForObject(
+                "select description from event where title = ?", String.class, tag + " c"));
+    }
+
+    @Test
+    void rollsBackWholeImportWhenCsvIsStructurallyBroken() {
+        String body = "title,startTime,endTime,location,quota,description\n"
+                + tag + " a,2030-03-01T08:00:00,2030-03-01T10:00:00,,20,\n"
+                + "\"" + tag + " b,2030-03-02T08:00:00,2030-03-02T10:00:00,,20,\n";   // kutip tidak ditutup
+
+        assertThrows(BadRequestException.class, () -> importService.importEvents(stream(body), ImportFormat.CSV));
+        assertEquals(0, count());
+    }
+
+    private String row(String suffix, String start, String end, int quota) {
+        return "{\"title\":\"" + tag + " " + suffix + "\",\"startTime\":\"" + start + "\",\"endTime\":\"" + end
+                + "\",\"location\":\"Balai desa\",\"quota\":" + quota + "}";
+    }
+
+    private int count() {
+        return jdbcTemplate.queryForObject("select count(*) from event where title like ?", Integer.class, tag + "%");
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,156 @@
+package com.yolifay.eventservice.service;
+
+import com.yolifay.eventservice.client.IdentityClientFacade;
+import com.yolifay.eventservice.dto.BatchRegistrationResult;
+import com.yolifay.eventservice.dto.EventCreateRequest;
+import com.yolifay.eventservice.dto.RegisterParticipantRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.yolifay.eventservice.dto.RegistrationStatus.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class EventServiceBatchRegistrationTest {
+
+    private static final String UNVERIFIED_NIK = "3201999999999999";
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private IdentityClientFacade identityClientFacade;
+
+    private UUID eventId;
+
+    @AfterEach
+    void cleanup() {
+        if (eventId == null) return;
+        jdbcTemplate.update("delete from event_participant where event_id = ?", eventId);
+        jdbcTemplate.update("delete from event where id = ?", eventId);
+    }
+
+    @Test
+    void resultsFollowRequestOrderWithPerEntryStatus() {
+        knownExcept(UNVERIFIED_NIK);
+        eventId = createEvent(3);
+        register(nik(0));
+
+        List<BatchRegistrationResult> results = register(
+                nik(0), nik(1), UNVERIFIED_NIK, nik(1), nik(2), nik(3), nik(4));
+
+        assertEquals(List.of(nik(0), nik(1), UNVERIFIED_NIK, nik(1), nik(2), nik(3), nik(4)),
+                results.stream().map(BatchRegistrationResult::wargaNik).toList());
+        // Sisa 2 kursi untuk NIK baru yang valid sesuai urutan request; NIK ulang di request yang sama DUPLICATE
+        assertEquals(List.of(DUPLICATE, REGISTERED, UNKNOWN_NIK, DUPLICATE, REGISTERED, OVER_QUOTA, OVER_QUOTA),
+                results.stream().map(BatchRegistrationResult::status).toList());
+        results.forEach(r -> assertEquals(r.status() == REGISTERED, r.participantId() != null, r.toString()));
+
+        assertEquals(3, rows());
+        assertEquals(3, participantCount());
+    }
+
+    @Test
+    void conflictLoserDoesNotConsumeSeat() {
+        knownExcept(UNVERIFIED_NIK);
+        eventId = createEvent(3);
+        register(nik(0));   // filter NIK event ini ter-build, insert di bawah tidak terlihat olehnya
+
+        // Registrasi yang commit di instance lain: baris dan participant_count sudah ada di DB
+        jdbcTemplate.update("insert into event_participant (id, event_id, warga_nik) values (?, ?, ?)",
+                UUID.randomUUID(), eventId, nik(1));
+        jdbcTemplate.update("update event set participant_count = participant_count + 1 where id = ?", eventId);
+
+        // Satu kursi tersisa: nik(1) kalah ON CONFLICT atau tertangkap cek DB, kursinya tetap untuk nik(2)
+        List<BatchRegistrationResult> results = register(nik(1), nik(2), nik(3));
+
+        assertEquals(List.of(DUPLICATE, REGISTERED, OVER_QUOTA),
+                results.stream().map(BatchRegistrationResult::status).toList());
+        assertEquals(3, rows());
+        assertEquals(3, participantCount());
+    }
+
+    @Test
+    void concurrentBatchesNeverExceedQuota() throws Exception {
+        knownExcept(UNVERIFIED_NIK);
+        int quota = 25;
+        eventId = createEvent(quota);
+
+        // 16 batch x 10 NIK, batch bertetangga berbagi 5 NIK
+        List<Future<List<BatchRegistrationResult>>> futures = new ArrayList<>();
+        CountDownLatch go = new CountDownLatch(1);
+        try (ExecutorService pool = Executors.newFixedThreadPool(16)) {
+            for (int b = 0; b < 16; b++) {
+                int first = b * 5;
+                String[] niks = IntStream.range(first, first + 10).mapToObj(EventServiceBatchRegistrationTest::nik)
+                        .toArray(String[]::new);
+                futures.add(pool.submit(() -> {
+                    go.await();
+                    return register(niks);
+                }));
+            }
+            go.countDown();
+
+            Map<String, Long> registeredPerNik = new HashMap<>();
+            for (Future<List<BatchRegistrationResult>> f : futures) {
+                for (BatchRegistrationResult r : f.get(60, TimeUnit.SECONDS)) {
+                    if (r.status() == REGISTERED) registeredPerNik.merge(r.wargaNik(), 1L, Long::sum);
+                }
+            }
+
+            assertEquals(quota, registeredPerNik.size());
+            assertTrue(registeredPerNik.values().stream().allMatch(n -> n == 1), registeredPerNik.toString());
+        }
+        assertEquals(quota, rows());
+        assertEquals(quota, participantCount());
+    }
+
+    private UUID createEvent(int quota) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        var event = eventService.createEvent(new EventCreateRequest(
+                "Vaksinasi massal", start, start.plusHours(3), "Puskesmas", quota, null));
+        return UUID.fromString(event.id());
+    }
+
+    private List<BatchRegistrationResult> register(String... niks) {
+        return eventService.registerParticipantsBatch(eventId,
+                Arrays.stream(niks).map(RegisterParticipantRequest::new).toList());
+    }
+
+    private void knownExcept(String unknown) {
+        when(identityClientFacade.existsWargaByNiks(anyCollection())).thenAnswer(inv -> {
+            Collection<String> niks = inv.getArgument(0);
+            return niks.stream().collect(Collectors.toMap(Function.identity(), nik -> !unknown.equals(nik),
+                    (a, b) -> a, LinkedHashMap::new));
+        });
+    }
+
+    private int rows() {
+        return jdbcTemplate.queryForObject("select count(*) from event_participant where event_id = ?",
+                Integer.class, eventId);
+    }
+
+    private int participantCount() {
+        return jdbcTemplate.queryForObject("select participant_count from event where id = ?", Integer.class, eventId);
+    }
+
+    private static String nik(int i) {
+        return String.format("%016d", 3201000000000000L + i);
+    }
+}
@@ -0,0 +1,116 @@
+package com.yolifay.eventservice.service;
+
+import com.yolifay.eventservice.client.IdentityClientFacade;
+import com.yolifay.eventservice.dto.EventCreateRequest;
+import com.yolifay.eventservice.dto.RegisterParticipantRequest;
+import com.yolifay.eventservice.exception.ConflictException;
+import com.yolifay.eventservice.repository.EventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class EventServiceConcurrencyTest {
+
+    private static final int QUOTA = 25;
+    private static final int REGISTRATIONS = 300;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private IdentityClientFacade identityClientFacade;
+
+    private UUID eventId;
+
+    @AfterEach
+    void cleanup() {
+        if (eventId == null) return;
+        jdbcTemplate.update("delete from event_participant where event_id = ?", eventId);
+        jdbcTemplate.update("delete from event where id = ?", eventId);
+    }
+
+    @Test
+    void concurrentRegistrationsNeverExceedQuota() throws Exception {
+        when(identityClientFacade.existsWargaByNik(anyString())).thenReturn(true);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        var event = eventService.createEvent(new EventCreateRequest(
+                "Posyandu balita", start, start.plusHours(2), "Balai desa", QUOTA, null));
+        eventId = UUID.fromString(event.id());
+
+        AtomicInteger registered = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch go = new CountDownLatch(1);
+
+        try (ExecutorService pool = Executors.newFixedThreadPool(64)) {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < REGISTRATIONS; i++) {
+                String nik = String.format("%016d", 3201000000000000L + i);
+                futures.add(pool.submit(() -> {
+                    go.await();
+                    try {
+                        eventService.registerParticipant(eventId, new RegisterParticipantRequest(nik));
+                        registered.incrementAndGet();
+                    } catch (IllegalStateException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            go.countDown();
+            for (Future<Void> f : futures) {
+                f.get(60, TimeUnit.SECONDS);
+            }
+        }
+
+        Long rows = jdbcTemplate.queryForObject(
+                "select count(*) from event_participant where event_id = ?", Long.class, eventId);
+
+        assertEquals(QUOTA, registered.get());
+        assertEquals(REGISTRATIONS - QUOTA, rejected.get());
+        assertEquals(QUOTA, rows.longValue());
+        assertEquals(QUOTA, eventRepo.findById(eventId).orElseThrow().getParticipantCount().intValue());
+    }
+
+    @Test
+    void duplicateMissedByNikFilterIsRejectedByUniqueConstraint() {
+        when(identityClientFacade.existsWargaByNik(anyString())).thenReturn(true);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        var event = eventService.createEvent(new EventCreateRequest(
+                "Kerja bakti", start, start.plusHours(2), "Balai desa", QUOTA, null));
+        eventId = UUID.fromString(event.id());
+        eventService.registerParticipant(eventId, new RegisterParticipantRequest("3201000000000001"));
+
+        // Insert dari instance lain: tidak ada di filter NIK instance ini
+        jdbcTemplate.update("insert into event_participant (id, event_id, warga_nik) values (?, ?, ?)",
+                UUID.randomUUID(), eventId, "3201000000000002");
+
+        assertThrows(ConflictException.class, () ->
+                eventService.registerParticipant(eventId, new RegisterParticipantRequest("3201000000000002")));
+        // Kursi yang sempat di-reserve ikut di-rollback
+        assertEquals(1, eventRepo.findById(eventId).orElseThrow().getParticipantCount().intValue());
+    }
+}
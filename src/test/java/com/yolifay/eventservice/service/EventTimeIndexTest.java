@@ -0,0 +1,123 @@
+package com.yolifay.eventservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EventTimeIndexTest {
+
+    private static final long SECOND = 1_000_000L;
+    private static final long BASE = EventTimeIndex.toMicros(LocalDateTime.of(2025, 1, 1, 0, 0));
+    private static final int EVENTS = 20_000;
+    private static final int LIMIT = 200;
+
+    private record Interval(UUID id, long start, long end) {
+    }
+
+    @Test
+    void matchesLinearScanAcrossSnapshotAndOverlay() {
+        Random rnd = new Random(42);
+        Map<UUID, Interval> expected = new LinkedHashMap<>();
+        EventIntervals.Builder builder = new EventIntervals.Builder(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            Interval in = randomInterval(rnd, UUID.randomUUID());
+            expected.put(in.id, in);
+            builder.add(in.id, in.start, in.end);   // urutan acak: build() yang mengurutkan
+        }
+
+        // threshold kecil agar beberapa update ikut ter-compact ke snapshot, sisanya tetap di overlay
+        EventTimeIndex index = new EventTimeIndex(null, null, true, 100, new SimpleMeterRegistry());
+        index.replace(builder.build());
+
+        List<UUID> ids = new ArrayList<>(expected.keySet());
+        for (int i = 0; i < 250; i++) {
+            Interval moved = randomInterval(rnd, ids.get(rnd.nextInt(ids.size())));
+            expected.put(moved.id, moved);
+            index.put(moved.id, moved.start, moved.end);
+        }
+        for (int i = 0; i < 50; i++) {
+            Interval created = randomInterval(rnd, UUID.randomUUID());
+            expected.put(created.id, created);
+            index.put(created.id, created.start, created.end);
+        }
+
+        for (int q = 0; q < 500; q++) {
+            long from = BASE + rnd.nextLong(0, 400L * 24 * 3600 * SECOND);
+            long to = from + rnd.nextLong(60 * SECOND, 3L * 24 * 3600 * SECOND);
+
+            assertEquals(
+                    startOrder(expected, e -> e.start < to && e.end > from),
+                    startOrder(expected, index.overlapping(at(from), at(to), LIMIT)));
+            assertEquals(
+                    startOrder(expected, e -> e.start >= from && e.start < to),
+                    startOrder(expected, index.startingBetween(at(from), at(to), LIMIT)));
+        }
+    }
+
+    @Test
+    void subSecondBoundariesMatchDatabaseComparison() {
+        EventTimeIndex index = new EventTimeIndex(null, null, true, 100, new SimpleMeterRegistry());
+        index.replace(EventIntervals.EMPTY);
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 9, 0, 0, 100_000_000);
+        LocalDateTime end = LocalDateTime.of(2025, 3, 1, 10, 0, 0, 500_000_000);
+        UUID id = UUID.randomUUID();
+        index.put(id, EventTimeIndex.toMicros(start), EventTimeIndex.toMicros(end));
+
+        // end_time 10:00:00.500 > 10:00:00.200 di DB, jadi event ikut window ini
+        assertEquals(List.of(id), index.overlapping(end.withNano(200_000_000), end.plusHours(1), LIMIT));
+        assertEquals(List.of(), index.overlapping(end, end.plusHours(1), LIMIT));
+        // start_time 09:00:00.100 < 09:00:00.900, jadi window yang berakhir di sana tetap overlap
+        assertEquals(List.of(id), index.overlapping(start.minusHours(1), start.withNano(900_000_000), LIMIT));
+        assertEquals(List.of(), index.startingBetween(start.withNano(0), start, LIMIT));
+        assertEquals(List.of(id), index.startingBetween(start, start.plusNanos(1_000), LIMIT));
+    }
+
+    private static Interval randomInterval(Random rnd, UUID id) {
+        long start = BASE + rnd.nextLong(0, 365L * 24 * 3600 * SECOND);
+        // kebanyakan event beberapa jam, sebagian kecil berhari-hari
+        long duration = rnd.nextInt(20) == 0
+                ? rnd.nextLong(1, 30L * 24 * 3600 * SECOND) : rnd.nextLong(1, 8L * 3600 * SECOND);
+        return new Interval(id, start, start + duration);
+    }
+
+    private static LocalDateTime at(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, SECOND), (int) Math.floorMod(micros, SECOND) * 1_000,
+                ZoneOffset.UTC);
+    }
+
+    // Start yang sama boleh muncul dalam urutan berbeda; bandingkan sebagai (start, id) terurut, maksimal LIMIT
+    private static List<String> startOrder(Map<UUID, Interval> all, Predicate<Interval> match) {
+        List<Interval> hits = all.values().stream()
+                .filter(match)
+                .sorted(Comparator.comparingLong(Interval::start))
+                .toList();
+        if (hits.size() >= LIMIT) {
+            // Hanya start yang lebih kecil dari start ke-LIMIT yang pasti ada di hasil index
+            long cut = hits.get(LIMIT - 1).start;
+            hits = hits.stream().filter(e -> e.start < cut).toList();
+        }
+        return keys(hits);
+    }
+
+    private static List<String> startOrder(Map<UUID, Interval> all, List<UUID> ids) {
+        List<Interval> hits = ids.stream().map(all::get).toList();
+        if (ids.size() >= LIMIT) {
+            long cut = hits.get(LIMIT - 1).start;
+            hits = hits.stream().filter(e -> e.start < cut).toList();
+        }
+        return keys(hits);
+    }
+
+    private static List<String> keys(List<Interval> hits) {
+        return hits.stream()
+                .map(e -> String.format("%020d/%s", e.start, e.id))
+                .sorted()
+                .toList();
+    }
+}
@@ -0,0 +1,38 @@
+package com.yolifay.eventservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NikBloomFilterTest {
+
+    private static final int PARTICIPANTS = 100_000;
+
+    @Test
+    void neverMissesInsertedNikAndKeepsFalsePositiveRateNearTarget() {
+        NikBloomFilter filter = new NikBloomFilter(PARTICIPANTS, 0.01);
+        for (int i = 0; i < PARTICIPANTS; i++) {
+            filter.put(nik(i));
+        }
+
+        for (int i = 0; i < PARTICIPANTS; i++) {
+            assertTrue(filter.mightContain(nik(i)), nik(i));
+        }
+
+        int falsePositives = 0;
+        int probes = 200_000;
+        for (int i = PARTICIPANTS; i < PARTICIPANTS + probes; i++) {
+            if (filter.mightContain(nik(i))) falsePositives++;
+        }
+        double rate = (double) falsePositives / probes;
+        assertTrue(rate < 0.02, "false positive rate " + rate);
+
+        // ~117 KiB per 100.000 NIK pada fpp 1%
+        assertEquals(958_528 / 8, filter.sizeInBytes());
+    }
+
+    // NIK berurutan seperti data registrasi massal: hanya digit terakhir yang berbeda
+    private static String nik(int i) {
+        return String.format("%016d", 3201000000000000L + i);
+    }
+}
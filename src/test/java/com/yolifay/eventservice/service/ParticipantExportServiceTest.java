@@ -0,0 +1,121 @@
+package com.yolifay.eventservice.service;
+
+import com.yolifay.eventservice.dto.EventCreateRequest;
+import com.yolifay.eventservice.dto.ExportFormat;
+import com.yolifay.eventservice.repository.EventParticipantJdbcRepository;
+import com.yolifay.eventservice.repository.EventParticipantJdbcRepository.NewParticipant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ParticipantExportServiceTest {
+
+    private static final int PARTICIPANTS = 500_000;
+    private static final int INSERT_CHUNK = 10_000;
+    private static final long MAX_HEAP_GROWTH_BYTES = 32L * 1024 * 1024;
+
+    @Autowired
+    private ParticipantExportService exportService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventParticipantJdbcRepository participantJdbcRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID eventId;
+
+    @BeforeEach
+    void seed() {
+        LocalDateTime start = LocalDateTime.now().plusDays(7);
+        var event = eventService.createEvent(new EventCreateRequest(
+                "Vaksinasi massal", start, start.plusHours(8), "Lapangan desa", PARTICIPANTS, null));
+        eventId = UUID.fromString(event.id());
+
+        List<NewParticipant> chunk = new ArrayList<>(INSERT_CHUNK);
+        for (int i = 0; i < PARTICIPANTS; i++) {
+            chunk.add(new NewParticipant(UUID.randomUUID(), String.format("%016d", 3300000000000000L + i)));
+            if (chunk.size() == INSERT_CHUNK) {
+                participantJdbcRepo.insertIgnoringDuplicates(eventId, chunk);
+                chunk.clear();
+            }
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("delete from event_participant where event_id = ?", eventId);
+        jdbcTemplate.update("delete from event where id = ?", eventId);
+    }
+
+    @Test
+    void exportsLargeEventWithBoundedHeap() throws Exception {
+        long baseline = usedHeapAfterGc();
+        HeapSamplingSink sink = new HeapSamplingSink();
+
+        long rows = exportService.export(eventId, ExportFormat.NDJSON, sink);
+
+        assertEquals(PARTICIPANTS, rows);
+        assertEquals(PARTICIPANTS, sink.lines);
+        assertTrue(sink.peakUsedHeap - baseline < MAX_HEAP_GROWTH_BYTES,
+                "heap grew by " + (sink.peakUsedHeap - baseline) + " bytes while streaming");
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        Runtime rt = Runtime.getRuntime();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    /**
+     * Membuang output, menghitung baris, dan mengukur live heap setiap ~8 MB yang ditulis.
+     */
+    private static final class HeapSamplingSink extends OutputStream {
+        private static final long SAMPLE_EVERY_BYTES = 8L * 1024 * 1024;
+
+        long lines;
+        long peakUsedHeap;
+        private long bytes;
+        private long nextSample = SAMPLE_EVERY_BYTES;
+
+        @Override
+        public void write(int b) {
+            count(b);
+            advance(1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) count(b[i]);
+            advance(len);
+        }
+
+        private void count(int b) {
+            if (b == '\n') lines++;
+        }
+
+        private void advance(int len) {
+            bytes += len;
+            if (bytes >= nextSample) {
+                nextSample += SAMPLE_EVERY_BYTES;
+                peakUsedHeap = Math.max(peakUsedHeap, usedHeapAfterGc());
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.yolifay.eventservice.service;
+
+import com.yolifay.eventservice.repository.EventParticipantJdbcRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParticipantNikFilterTest {
+
+    private static final int MAX_ENTRIES = 500_000;
+    private static final UUID EVENT_ID = UUID.randomUUID();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void measuredDuplicateChecksDropWhileFilterGrowsWithParticipants() {
+        FakeParticipantRepository repo = new FakeParticipantRepository();
+        ParticipantNikFilter filter = filter(repo, MAX_ENTRIES);
+
+        // 50.000 registrasi ke event kosong, 10% di antaranya mengulang NIK yang sudah terdaftar
+        Random random = new Random(42);
+        int registrations = 50_000;
+        int next = 0;
+        for (int i = 0; i < registrations; i++) {
+            boolean retry = !repo.niks.isEmpty() && random.nextInt(10) == 0;
+            String nik = nik(retry ? random.nextInt(next) : next++);
+            boolean maybe = filter.mightBeRegistered(EVENT_ID, nik);
+            if (retry) {
+                assertTrue(maybe, "NIK terdaftar tidak boleh lolos filter: " + nik);
+            } else {
+                repo.niks.add(nik);
+                filter.registered(EVENT_ID, List.of(nik));
+            }
+        }
+
+        double database = counter("database");
+        double skipped = counter("skipped");
+        assertEquals(registrations, database + skipped);
+        // Tanpa filter setiap registrasi = 1 query existsBy; terukur ~5.300 (10,6%) termasuk ~5.000 retry
+        assertTrue(database < registrations * 0.12, "database checks " + database);
+        // Filter tumbuh 1024 -> 2x participant_count, bukan sekali di-build dari quota
+        assertTrue(repo.builds > 1 && repo.builds <= 8, "builds " + repo.builds);
+        assertTrue(meterRegistry.get("event.nik.filter.bytes").gauge().value() < 128 * 1024);
+    }
+
+    @Test
+    void eventAboveMaxEntriesAlwaysChecksDatabaseWithoutAllocatingFilter() {
+        FakeParticipantRepository repo = new FakeParticipantRepository();
+        repo.participantCount = 2_000;
+        ParticipantNikFilter filter = filter(repo, 1_000);
+
+        assertTrue(filter.mightBeRegistered(EVENT_ID, nik(1)));
+        assertEquals(List.of(nik(2), nik(3)), filter.possiblyRegistered(EVENT_ID, List.of(nik(2), nik(3))));
+
+        assertEquals(0, repo.scans);
+        assertEquals(3, counter("database"));
+        assertEquals(0, meterRegistry.get("event.nik.filter.bytes").gauge().value());
+    }
+
+    private ParticipantNikFilter filter(EventParticipantJdbcRepository repo, int maxEntries) {
+        return new ParticipantNikFilter(repo, true, 0.01, 1024, maxEntries, 64L * 1024 * 1024, 3_600_000, meterRegistry);
+    }
+
+    private double counter(String result) {
+        return meterRegistry.get("registration.duplicate.check").tag("result", result).counter().count();
+    }
+
+    private static String nik(int i) {
+        return String.format("%016d", 3201000000000000L + i);
+    }
+
+    /**
+     * event_participant in-memory; participantCount mengikuti jumlah NIK kecuali di-set manual.
+     */
+    private static final class FakeParticipantRepository extends EventParticipantJdbcRepository {
+        final Set<String> niks = new LinkedHashSet<>();
+        Integer participantCount;
+        int builds;
+        int scans;
+
+        FakeParticipantRepository() {
+            super(null);
+        }
+
+        @Override
+        public int participantCount(UUID eventId) {
+            builds++;
+            return participantCount != null ? participantCount : niks.size();
+        }
+
+        @Override
+        public void forEachNik(UUID eventId, Consumer<String> action) {
+            scans++;
+            niks.forEach(action);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.yolifay.eventservice.service;
+
+import com.yolifay.eventservice.client.IdentityClientFacade;
+import com.yolifay.eventservice.dto.EventCreateRequest;
+import com.yolifay.eventservice.dto.RegisterParticipantRequest;
+import com.yolifay.eventservice.dto.RegistrationStatus;
+import com.yolifay.eventservice.dto.RegistrationTicketResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+// Worker terjadwal praktis tidak berjalan; drain() dipanggil langsung oleh test
+@SpringBootTest(properties = {
+        "registration.async.enabled=true",
+        "registration.async.poll-interval-ms=3600000"
+})
+class RegistrationQueueWorkerTest {
+
+    private static final String UNKNOWN_NIK = "3201999999999999";
+
+    @Autowired
+    private RegistrationQueueService queueService;
+
+    @Autowired
+    private RegistrationQueueWorker worker;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private IdentityClientFacade identityClientFacade;
+
+    private UUID eventId;
+
+    @BeforeEach
+    void createEvent() {
+        LocalDateTime start = LocalDateTime.now().plusDays(2);
+        var event = eventService.createEvent(new EventCreateRequest(
+                "Senam pagi lansia", start, start.plusHours(2), "Lapangan desa", 10, null));
+        eventId = UUID.fromString(event.id());
+    }
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("delete from registration_request where event_id = ?", eventId);
+        jdbcTemplate.update("delete from event_participant where event_id = ?", eventId);
+        jdbcTemplate.update("delete from event where id = ?", eventId);
+    }
+
+    @Test
+    void workerResolvesQueuedTickets() {
+        when(identityClientFacade.existsWargaByNiks(anyCollection())).thenAnswer(inv -> known(inv.getArgument(0)));
+
+        RegistrationTicketResponse first = enqueue("3201000000000001");
+        RegistrationTicketResponse again = enqueue("3201000000000001");
+        RegistrationTicketResponse unknown = enqueue(UNKNOWN_NIK);
+        assertEquals(RegistrationStatus.PENDING, first.status());
+
+        worker.drain();
+
+        // NIK sama dua kali di satu batch: satu REGISTERED (dengan participantId), satu DUPLICATE
+        assertEquals(Set.of(RegistrationStatus.REGISTERED, RegistrationStatus.DUPLICATE),
+                Set.of(status(first), status(again)));
+        RegistrationTicketResponse registered = queueService.getTicket(UUID.fromString(
+                (status(first) == RegistrationStatus.REGISTERED ? first : again).ticketId()));
+        assertNotNull(registered.participantId());
+        assertEquals(RegistrationStatus.UNKNOWN_NIK, status(unknown));
+        assertEquals(1, participants());
+    }
+
+    @Test
+    void upstreamFailurePutsTicketBackToPending() {
+        when(identityClientFacade.existsWargaByNiks(anyCollection())).thenThrow(new IllegalStateException("identity down"));
+
+        RegistrationTicketResponse ticket = enqueue("3201000000000002");
+        worker.drain();
+
+        RegistrationTicketResponse pending = queueService.getTicket(UUID.fromString(ticket.ticketId()));
+        assertEquals(RegistrationStatus.PENDING, pending.status());
+        assertEquals("identity down", pending.message());
+        assertEquals(1, attempts(ticket));
+        assertEquals(0, participants());
+    }
+
+    @Test
+    void reclaimedTicketIsNotOverwrittenByStaleWorker() {
+        // Saat worker ini menunggu identity-service, klaimnya dianggap stale dan tiket diklaim ulang worker lain
+        when(identityClientFacade.existsWargaByNiks(anyCollection())).thenAnswer(inv -> {
+            jdbcTemplate.update("update registration_request set attempts = attempts + 1, claimed_at = now() "
+                    + "where event_id = ?", eventId);
+            return known(inv.getArgument(0));
+        });
+
+        RegistrationTicketResponse ticket = enqueue("3201000000000003");
+        worker.drain();
+
+        // Status dan insert peserta worker lama di-rollback; tiket tetap milik klaim terbaru
+        assertEquals(RegistrationStatus.PROCESSING, status(ticket));
+        assertEquals(2, attempts(ticket));
+        assertEquals(0, participants());
+    }
+
+    private RegistrationTicketResponse enqueue(String nik) {
+        return queueService.enqueue(eventId, new RegisterParticipantRequest(nik));
+    }
+
+    private RegistrationStatus status(RegistrationTicketResponse ticket) {
+        return queueService.getTicket(UUID.fromString(ticket.ticketId())).status();
+    }
+
+    private int attempts(RegistrationTicketResponse ticket) {
+        return jdbcTemplate.queryForObject("select attempts from registration_request where id = ?",
+                Integer.class, UUID.fromString(ticket.ticketId()));
+    }
+
+    private int participants() {
+        return jdbcTemplate.queryForObject("select count(*) from event_participant where event_id = ?",
+                Integer.class, eventId);
+    }
+
+    private static Map<String, Boolean> known(Collection<String> niks) {
+        return niks.stream().collect(Collectors.toMap(Function.identity(), nik -> !UNKNOWN_NIK.equals(nik)));
+    }
+}